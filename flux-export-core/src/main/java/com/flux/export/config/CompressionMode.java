@@ -0,0 +1,19 @@
+package com.flux.export.config;
+
+/**
+ * 导出文件压缩方式
+ * <p>
+ * 仅对未压缩的文本格式 (如 CSV) 生效; XLSX 本身即为 zip 容器, 不再重复压缩。
+ * 分片打包 ({@link ShardMode#ZIP_PARTS}) 的输出始终为 zip, 压缩级别同样生效
+ */
+public enum CompressionMode {
+
+    /** 不压缩 */
+    NONE,
+
+    /** gzip 流式压缩, 文件名追加 {@code .gz} */
+    GZIP,
+
+    /** 打包为仅含一个文件的 zip, 文件名为 {@code .zip} */
+    ZIP
+}
@@ -1,22 +1,81 @@
 package com.flux.export.config;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * 导出配置项
  * <p>
  * 用于注册业务导出配置，将业务 Service 方法映射为导出能力
+ * <p>
+ * 如果 {@code beanName} 对应的 Bean 实现了 {@link com.flux.export.spi.ExportDataProviderSpi},
+ * SDK 将按批次拉取数据, 此时 {@code methodName} 不再被使用
  *
  * @param bizType                   业务类型标识（唯一）
  * @param beanName                  Spring Bean 名称
  * @param methodName                要调用的方法名
  * @param paramType                 参数类型
  * @param permissionCheckerBeanName 权限校验器 Bean 名称（可选，为 null 时使用默认校验器）
+ * @param batchSize                 分批拉取时每批的最大行数
+ * @param shardKey                  分片键 (如 {@code id}、{@code create_time}), 为 null 时不分片
+ * @param shardCount                分片数
+ * @param shardMode                 分片结果合并方式
+ * @param priority                  调度优先级, 数值越大越先执行 (默认 0)
+ * @param format                    默认导出文件格式 (默认 XLSX), 请求中可覆盖
+ * @param compression               压缩方式 (默认不压缩)
+ * @param compressionLevel          压缩级别 0-9, -1 表示默认级别
+ * @param resultCacheTtl            结果复用有效期, 为 null 时不复用 (相同参数的导出各自执行)
+ * @param watermarkKey              增量导出的水位列 (单调递增, 如 {@code id}、{@code create_time}), 为 null 时全量导出
+ * @param checkpointRows            断点续传的分段行数, 每写满一段上传并保存检查点, 0 表示不启用
+ * @param sharedStringColumns       XLSX 中声明为低基数、优先写入共享字符串表的列 (VO 字段名), 其余列按实际基数判断
  */
 public record ExportConfig(
                 String bizType,
                 String beanName,
                 String methodName,
                 Class<?> paramType,
-                String permissionCheckerBeanName) {
+                String permissionCheckerBeanName,
+                int batchSize,
+                String shardKey,
+                int shardCount,
+                ShardMode shardMode,
+                int priority,
+                ExportFormat format,
+                CompressionMode compression,
+                int compressionLevel,
+                Duration resultCacheTtl,
+                String watermarkKey,
+                int checkpointRows,
+                List<String> sharedStringColumns) {
+
+        /** 默认每批行数 */
+        public static final int DEFAULT_BATCH_SIZE = 5000;
+
+        /** 默认压缩级别 (由 Deflater 决定, 通常为 6) */
+        public static final int DEFAULT_COMPRESSION_LEVEL = -1;
+
+        public ExportConfig {
+                if (batchSize <= 0) {
+                        batchSize = DEFAULT_BATCH_SIZE;
+                }
+                if (shardMode == null) {
+                        shardMode = ShardMode.SINGLE_WORKBOOK;
+                }
+                if (format == null) {
+                        format = ExportFormat.XLSX;
+                }
+                if (compression == null) {
+                        compression = CompressionMode.NONE;
+                }
+                if (compressionLevel < 0 || compressionLevel > 9) {
+                        compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+                }
+                if (checkpointRows < 0) {
+                        checkpointRows = 0;
+                }
+                sharedStringColumns = sharedStringColumns == null ? List.of() : List.copyOf(sharedStringColumns);
+        }
+
         /**
          * 创建不带自定义权限校验器的配置
          */
@@ -24,10 +83,173 @@ public record ExportConfig(
                 this(bizType, beanName, methodName, paramType, null);
         }
 
+        /**
+         * 创建使用默认批次大小的配置
+         */
+        public ExportConfig(String bizType, String beanName, String methodName, Class<?> paramType,
+                        String permissionCheckerBeanName) {
+                this(bizType, beanName, methodName, paramType, permissionCheckerBeanName, DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * 创建不分片的配置
+         */
+        public ExportConfig(String bizType, String beanName, String methodName, Class<?> paramType,
+                        String permissionCheckerBeanName, int batchSize) {
+                this(bizType, beanName, methodName, paramType, permissionCheckerBeanName, batchSize, null, 1,
+                                ShardMode.SINGLE_WORKBOOK, 0, ExportFormat.XLSX, CompressionMode.NONE,
+                                DEFAULT_COMPRESSION_LEVEL, null, null, 0, List.of());
+        }
+
         /**
          * 是否配置了自定义权限校验器
          */
         public boolean hasCustomPermissionChecker() {
                 return permissionCheckerBeanName != null && !permissionCheckerBeanName.isBlank();
         }
+
+        /**
+         * 是否启用分片导出
+         */
+        public boolean isSharded() {
+                return shardKey != null && !shardKey.isBlank() && shardCount > 1;
+        }
+
+        /**
+         * 是否启用结果复用
+         */
+        public boolean isResultCacheEnabled() {
+                return resultCacheTtl != null && !resultCacheTtl.isZero() && !resultCacheTtl.isNegative();
+        }
+
+        /**
+         * 是否为增量导出
+         */
+        public boolean isIncremental() {
+                return watermarkKey != null && !watermarkKey.isBlank();
+        }
+
+        /**
+         * 是否启用断点续传
+         */
+        public boolean isCheckpointEnabled() {
+                return checkpointRows > 0;
+        }
+
+        /**
+         * 复制并更新批次大小
+         */
+        public ExportConfig withBatchSize(int newBatchSize) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                newBatchSize, shardKey, shardCount, shardMode, priority, format,
+                                compression, compressionLevel, resultCacheTtl, watermarkKey, checkpointRows,
+                                sharedStringColumns);
+        }
+
+        /**
+         * 复制并启用分片导出
+         * <p>
+         * 数据提供者需实现 {@link com.flux.export.spi.ShardedDataProviderSpi}
+         *
+         * @param newShardKey   分片键
+         * @param newShardCount 分片数
+         * @param newShardMode  结果合并方式
+         */
+        public ExportConfig withSharding(String newShardKey, int newShardCount, ShardMode newShardMode) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, newShardKey, newShardCount, newShardMode, priority, format,
+                                compression, compressionLevel, resultCacheTtl, watermarkKey, checkpointRows,
+                                sharedStringColumns);
+        }
+
+        /**
+         * 复制并更新调度优先级
+         */
+        public ExportConfig withPriority(int newPriority) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, newPriority, format,
+                                compression, compressionLevel, resultCacheTtl, watermarkKey, checkpointRows,
+                                sharedStringColumns);
+        }
+
+        /**
+         * 复制并更新默认导出文件格式
+         */
+        public ExportConfig withFormat(ExportFormat newFormat) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, newFormat, compression,
+                                compressionLevel, resultCacheTtl, watermarkKey, checkpointRows, sharedStringColumns);
+        }
+
+        /**
+         * 复制并更新压缩方式
+         *
+         * @param newCompression 压缩方式
+         * @param newLevel       压缩级别 0-9, -1 表示默认级别
+         */
+        public ExportConfig withCompression(CompressionMode newCompression, int newLevel) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, format, newCompression,
+                                newLevel, resultCacheTtl, watermarkKey, checkpointRows, sharedStringColumns);
+        }
+
+        /**
+         * 复制并启用结果复用
+         * <p>
+         * 相同业务类型、相同参数 (及文件格式) 的导出: 执行中时后来者挂到同一次执行上,
+         * 完成后 {@code ttl} 内直接复用文件地址。数据提供者的结果应只依赖参数, 不依赖提交用户
+         *
+         * @param ttl 结果有效期
+         */
+        public ExportConfig withResultCache(Duration ttl) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, format, compression,
+                                compressionLevel, ttl, watermarkKey, checkpointRows, sharedStringColumns);
+        }
+
+        /**
+         * 复制并启用增量导出
+         * <p>
+         * SDK 按 "用户 + 业务类型" 记录上次成功导出的最大水位, 下次导出时通过
+         * {@link com.flux.export.model.ExportPageRequest#watermark()} 传给数据提供者, 仅导出水位之后的数据;
+         * 水位列通过 {@link com.flux.export.model.ExportPageRequest#watermarkKey()} 传入。
+         * 数据提供者需实现 {@link com.flux.export.spi.ExportDataProviderSpi} 并在每页返回本页最大水位
+         *
+         * @param newWatermarkKey 水位列
+         */
+        public ExportConfig withWatermark(String newWatermarkKey) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, format, compression,
+                                compressionLevel, resultCacheTtl, newWatermarkKey, checkpointRows, sharedStringColumns);
+        }
+
+        /**
+         * 复制并启用断点续传
+         * <p>
+         * 导出按 {@code rowsPerSegment} 行分段写入并逐段上传, 每段完成后通过
+         * {@link com.flux.export.spi.TaskPersistenceSpi#saveCheckpoint} 保存游标与已上传分段。
+         * 执行节点失联后, 任一节点从检查点继续导出; 多个分段最终打包为 zip。
+         * 数据提供者需实现 {@link com.flux.export.spi.ExportDataProviderSpi}, 暂不支持分片导出
+         *
+         * @param rowsPerSegment 每段行数
+         */
+        public ExportConfig withCheckpoint(int rowsPerSegment) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, format, compression,
+                                compressionLevel, resultCacheTtl, watermarkKey, rowsPerSegment, sharedStringColumns);
+        }
+
+        /**
+         * 复制并声明低基数列
+         * <p>
+         * 原生 XLSX 写入器默认按实际出现的不同值个数判断列的基数, 低基数列 (如状态) 的字符串写入共享字符串表,
+         * 高基数列 (如订单号) 写为内联字符串。声明的列不受基数阈值限制, 始终优先共享 (共享字符串表总条目数仍受限)
+         *
+         * @param columns VO 字段名
+         */
+        public ExportConfig withSharedStrings(String... columns) {
+                return new ExportConfig(bizType, beanName, methodName, paramType, permissionCheckerBeanName,
+                                batchSize, shardKey, shardCount, shardMode, priority, format, compression,
+                                compressionLevel, resultCacheTtl, watermarkKey, checkpointRows, List.of(columns));
+        }
 }
@@ -0,0 +1,35 @@
+package com.flux.export.config;
+
+/**
+ * 导出文件格式
+ */
+public enum ExportFormat {
+
+    /** Excel 2007+ 工作簿, 单个 Sheet 超过行数上限时自动分 Sheet */
+    XLSX(".xlsx", true),
+
+    /** 逗号分隔文本, 写入速度快且无行数上限, 适合导入其他系统 */
+    CSV(".csv", false);
+
+    private final String extension;
+    private final boolean compressed;
+
+    ExportFormat(String extension, boolean compressed) {
+        this.extension = extension;
+        this.compressed = compressed;
+    }
+
+    /**
+     * 文件扩展名 (含点号)
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * 文件本身是否已压缩 (如 XLSX 为 zip 容器), 已压缩的格式不再叠加压缩
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.flux.export.config;
+
+/**
+ * 分片导出的结果合并方式
+ */
+public enum ShardMode {
+    /** 各分片并行拉取, 合并写入同一个工作簿 (分片之间的行顺序不保证) */
+    SINGLE_WORKBOOK,
+    /** 各分片并行拉取并各自生成工作簿, 打包为 zip */
+    ZIP_PARTS
+}
@@ -2,7 +2,9 @@ package com.flux.export.controller;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,6 +13,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.flux.export.config.ExportConfig;
+import com.flux.export.core.AdmissionDecision;
+import com.flux.export.core.ExportAdmissionPolicy;
+import com.flux.export.core.ExportMetrics;
 import com.flux.export.core.ExportOrchestrator;
 import com.flux.export.dto.ExportRequest;
 import com.flux.export.dto.ExportResponse;
@@ -29,7 +34,7 @@ import lombok.RequiredArgsConstructor;
 /**
  * SDK 导出 Controller
  * <p>
- * 提供导出任务的创建、查询接口
+ * 提供导出任务的创建、查询、取消接口
  */
 @RestController
 @RequestMapping("/public/export")
@@ -37,12 +42,15 @@ import lombok.RequiredArgsConstructor;
 public class SdkExportController {
 
     private final ExportOrchestrator orchestrator;
+    private final ExportAdmissionPolicy admissionPolicy;
     private final UserContextSpi userContextSpi;
     private final PermissionCheckerSpi defaultPermissionChecker;
     private final TaskPersistenceSpi taskPersistenceSpi;
     private final Validator validator;
     private final ObjectMapper objectMapper;
     private final ResponseWrapperSpi responseWrapper;
+    /** 导出指标 (类路径上没有 Micrometer 时不存在) */
+    private final ObjectProvider<ExportMetrics> metrics;
 
     /**
      * 创建导出任务
@@ -83,8 +91,28 @@ public class SdkExportController {
             return responseWrapper.wrapError(errorMsg, 400);
         }
 
-        // 6. 提交任务(传入已校验的参数)
-        String taskId = orchestrator.submitTask(request.bizType(), userId, typedParams);
+        // 6. 准入控制(过载时不创建任务记录)
+        AdmissionDecision admission = admissionPolicy.check();
+        if (!admission.admitted()) {
+            metrics.ifAvailable(m -> m.rejected(request.bizType(), "admission"));
+            return responseWrapper.wrapTooManyRequests(admission.reason(), admission.retryAfterSeconds());
+        }
+
+        // 7. 提交任务(传入已校验的参数)
+        String taskId;
+        try {
+            taskId = orchestrator.submitTask(request.bizType(), userId, typedParams, request.format(),
+                    request.columns());
+        } catch (RejectedExecutionException e) {
+            metrics.ifAvailable(m -> m.rejected(request.bizType(), "queue-full"));
+            return responseWrapper.wrapTooManyRequests("导出队列已满, 请稍后重试",
+                    admissionPolicy.getRetryAfterSeconds());
+        } catch (IllegalArgumentException e) {
+            // 导出列不存在
+            return responseWrapper.wrapError(e.getMessage(), 400);
+        } catch (IllegalStateException e) {
+            return responseWrapper.wrapError(e.getMessage(), 500);
+        }
 
         return responseWrapper.wrapSuccess(ExportResponse.submitted(taskId));
     }
@@ -117,12 +145,34 @@ public class SdkExportController {
      * GET /public/export/status?taskId=xxx
      */
     @GetMapping("/status")
-    public Object status(@RequestParam String taskId) {
+    public Object status(@RequestParam(name = "taskId") String taskId) {
         return taskPersistenceSpi.findById(taskId)
                 .map(task -> responseWrapper.wrapSuccess(ExportResponse.fromTask(task)))
                 .orElse(responseWrapper.wrapNotFound());
     }
 
+    /**
+     * 取消导出任务
+     * <p>
+     * POST /public/export/cancel?taskId=xxx
+     */
+    @PostMapping("/cancel")
+    public Object cancel(@RequestParam(name = "taskId") String taskId) {
+        String userId = userContextSpi.getCurrentUserId();
+        ExportTask task = taskPersistenceSpi.findById(taskId).orElse(null);
+        if (task == null) {
+            return responseWrapper.wrapNotFound();
+        }
+        if (!task.userId().equals(userId)) {
+            return responseWrapper.wrapError("无权限取消此任务", 403);
+        }
+        if (!orchestrator.cancelTask(taskId)) {
+            return responseWrapper.wrapError("任务已结束或不在本节点执行, 无法取消", 409);
+        }
+        metrics.ifAvailable(m -> m.cancelled(task.bizType()));
+        return responseWrapper.wrapSuccess(ExportResponse.cancelRequested(task));
+    }
+
     /**
      * 查询用户的任务列表
      * <p>
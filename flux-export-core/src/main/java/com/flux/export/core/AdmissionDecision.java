@@ -0,0 +1,30 @@
+package com.flux.export.core;
+
+/**
+ * 准入判定结果
+ *
+ * @param admitted          是否准入
+ * @param reason            拒绝原因 (准入时为 null)
+ * @param retryAfterSeconds 建议客户端重试的等待秒数 (准入时为 0)
+ */
+public record AdmissionDecision(
+        boolean admitted,
+        String reason,
+        long retryAfterSeconds) {
+
+    private static final AdmissionDecision ADMITTED = new AdmissionDecision(true, null, 0);
+
+    /**
+     * 准入
+     */
+    public static AdmissionDecision admit() {
+        return ADMITTED;
+    }
+
+    /**
+     * 拒绝
+     */
+    public static AdmissionDecision reject(String reason, long retryAfterSeconds) {
+        return new AdmissionDecision(false, reason, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,275 @@
+package com.flux.export.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+
+/**
+ * 导出列的值格式
+ * <p>
+ * 每个写入器在首次写入时为每列解析一次: 按字段声明类型确定单元格类型, 按 {@link DateTimeFormat} /
+ * {@link NumberFormat} 确定格式, 并缓存格式化器。写入时不再逐个单元格查找转换器。
+ * 同一列连续出现的同一天 (或同一本地日内的 {@link Date}) 只换算一次日期序列值
+ * <p>
+ * 有状态 (格式化器与换算缓存), 不可跨写入器共享
+ */
+final class ColumnFormat {
+
+    /**
+     * 单元格类型 (按字段声明类型确定)
+     */
+    enum Kind {
+        /** 字符串 */
+        STRING,
+        /** 整数基本类型, 通过 {@link ExportColumn#getLong(Object)} 免装箱读取 */
+        PRIMITIVE_INTEGRAL,
+        /** double, 通过 {@link ExportColumn#getDouble(Object)} 免装箱读取 */
+        PRIMITIVE_FLOATING,
+        /** 整数包装类型 */
+        INTEGRAL,
+        /** 浮点包装类型及 float */
+        FLOATING,
+        /** {@link BigDecimal} / {@link BigInteger} */
+        DECIMAL,
+        /** 布尔 */
+        BOOLEAN,
+        /** {@link LocalDateTime} / {@link LocalDate} / {@link Date} */
+        DATE,
+        /** 枚举, 写为 {@code toString()} */
+        ENUM,
+        /** 其他类型 (如 Object), 按值的实际类型处理 */
+        OTHER
+    }
+
+    /** LocalDateTime / Date 的默认格式 (与 EasyExcel 一致) */
+    static final String DEFAULT_DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    /** LocalDate 的默认格式 (与 EasyExcel 一致) */
+    static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
+
+    /** 1970-01-01 的 Excel 日期序列值 (1900 日期系统) */
+    private static final long EPOCH_SERIAL = 25_569;
+    /** 1900-03-01 的 Excel 日期序列值, 此前的日期受 1900 年闰年问题影响, 不换算 */
+    private static final double MIN_SERIAL = 61;
+    private static final double NANOS_PER_DAY = 86_400_000_000_000d;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final DateTimeFormatter DEFAULT_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
+
+    private final Kind kind;
+    /** 日期或数字格式 (Excel 单元格格式), 无格式时为 null */
+    private final String pattern;
+    private final TimeZone timeZone;
+    /** 日期格式化器 (日期列, 或声明了 {@link DateTimeFormat} 的其他时间类型), 否则为 null */
+    private DateTimeFormatter dateFormatter;
+    /** {@link NumberFormat} 对应的格式化器, 未声明时为 null */
+    private DecimalFormat decimalFormat;
+
+    /** 上一次换算的日期及其序列值 */
+    private LocalDate lastDate;
+    private long lastDateSerial;
+    /** 上一次换算的 {@link Date} 所在本地日的起止毫秒 (左闭右开) 及起点的序列值 */
+    private long dayStartMillis = Long.MAX_VALUE;
+    private long dayEndMillis = Long.MIN_VALUE;
+    private double dayStartSerial;
+
+    private ColumnFormat(Kind kind, String pattern, TimeZone timeZone) {
+        this.kind = kind;
+        this.pattern = pattern;
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * 解析列的值格式
+     *
+     * @param column   导出列
+     * @param timeZone {@link Date} 换算使用的时区
+     */
+    static ColumnFormat of(ExportColumn column, TimeZone timeZone) {
+        Class<?> type = column.type();
+        Kind kind = kindOf(column, type);
+        String pattern = null;
+        if (kind == Kind.DATE) {
+            pattern = datePattern(column, type);
+        } else if (kind == Kind.PRIMITIVE_INTEGRAL || kind == Kind.PRIMITIVE_FLOATING || kind == Kind.INTEGRAL
+                || kind == Kind.FLOATING || kind == Kind.DECIMAL) {
+            NumberFormat numberFormat = column.annotation(NumberFormat.class);
+            if (numberFormat != null && !numberFormat.value().isEmpty()) {
+                pattern = numberFormat.value();
+            }
+        }
+        ColumnFormat format = new ColumnFormat(kind, pattern, timeZone);
+        DateTimeFormat dateTimeFormat = column.annotation(DateTimeFormat.class);
+        if (kind == Kind.DATE) {
+            format.dateFormatter = DateTimeFormatter.ofPattern(pattern);
+        } else if (kind == Kind.OTHER && dateTimeFormat != null && !dateTimeFormat.value().isEmpty()) {
+            format.dateFormatter = DateTimeFormatter.ofPattern(dateTimeFormat.value());
+        } else if (pattern != null) {
+            NumberFormat numberFormat = column.annotation(NumberFormat.class);
+            format.decimalFormat = new DecimalFormat(pattern);
+            format.decimalFormat.setRoundingMode(numberFormat.roundingMode());
+        }
+        return format;
+    }
+
+    private static Kind kindOf(ExportColumn column, Class<?> type) {
+        if (column.isIntegral()) {
+            return Kind.PRIMITIVE_INTEGRAL;
+        }
+        if (column.isFloating()) {
+            return Kind.PRIMITIVE_FLOATING;
+        }
+        if (type == String.class) {
+            return Kind.STRING;
+        }
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            return Kind.INTEGRAL;
+        }
+        if (type == Double.class || type == Float.class || type == float.class) {
+            return Kind.FLOATING;
+        }
+        if (type == BigDecimal.class || type == BigInteger.class) {
+            return Kind.DECIMAL;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        if (isDate(type)) {
+            return Kind.DATE;
+        }
+        if (type.isEnum()) {
+            return Kind.ENUM;
+        }
+        return Kind.OTHER;
+    }
+
+    /**
+     * 是否为支持换算日期序列值的日期类型
+     */
+    static boolean isDate(Class<?> type) {
+        return type == LocalDateTime.class || type == LocalDate.class || Date.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 日期列的格式: {@link DateTimeFormat} 指定的格式, 否则按类型取默认格式
+     */
+    static String datePattern(ExportColumn column, Class<?> type) {
+        DateTimeFormat format = column.annotation(DateTimeFormat.class);
+        if (format != null && !format.value().isEmpty()) {
+            return format.value();
+        }
+        return type == LocalDate.class ? DEFAULT_DATE_FORMAT : DEFAULT_DATE_TIME_FORMAT;
+    }
+
+    /**
+     * 单元格类型
+     */
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * 日期或数字格式, 无格式时为 null
+     */
+    String pattern() {
+        return pattern;
+    }
+
+    /**
+     * 换算 Excel 日期序列值 (1900 日期系统)
+     *
+     * @param value {@link LocalDateTime}、{@link LocalDate} 或 {@link Date}
+     * @return 序列值, 1900-03-01 之前的日期返回 -1
+     */
+    double serial(Object value) {
+        double serial;
+        if (value instanceof LocalDateTime dateTime) {
+            serial = dateSerial(dateTime.toLocalDate()) + dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+        } else if (value instanceof LocalDate date) {
+            serial = dateSerial(date);
+        } else {
+            long millis = ((Date) value).getTime();
+            if (millis < dayStartMillis || millis >= dayEndMillis) {
+                cacheDay(millis);
+            }
+            serial = dayStartSerial + (double) (millis - dayStartMillis) / MILLIS_PER_DAY;
+        }
+        return serial < MIN_SERIAL ? -1 : serial;
+    }
+
+    private long dateSerial(LocalDate date) {
+        if (!date.equals(lastDate)) {
+            lastDate = date;
+            lastDateSerial = date.toEpochDay() + EPOCH_SERIAL;
+        }
+        return lastDateSerial;
+    }
+
+    /**
+     * 缓存 {@code millis} 所在的本地日; 当日有时区偏移变化 (夏令时切换) 时只缓存该时刻
+     */
+    private void cacheDay(long millis) {
+        int offset = timeZone.getOffset(millis);
+        long epochDay = Math.floorDiv(millis + offset, MILLIS_PER_DAY);
+        long start = epochDay * MILLIS_PER_DAY - offset;
+        if (timeZone.getOffset(start) == offset && timeZone.getOffset(start + MILLIS_PER_DAY - 1) == offset) {
+            dayStartMillis = start;
+            dayEndMillis = start + MILLIS_PER_DAY;
+            dayStartSerial = epochDay + EPOCH_SERIAL;
+        } else {
+            dayStartMillis = millis;
+            dayEndMillis = millis + 1;
+            dayStartSerial = (double) (millis + offset) / MILLIS_PER_DAY + EPOCH_SERIAL;
+        }
+    }
+
+    /**
+     * 格式化为文本 (CSV, 及无法写为日期序列值的日期)
+     */
+    String text(Object value) {
+        if (value instanceof String s) {
+            return s;
+        }
+        if (decimalFormat != null && value instanceof Number) {
+            return decimalFormat.format(value);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            if (dateFormatter != null) {
+                return dateFormatter.format(temporal);
+            }
+            return value instanceof LocalDateTime ? DEFAULT_DATE_TIME_FORMATTER.format(temporal) : value.toString();
+        }
+        if (value instanceof Date date) {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()),
+                    timeZone.toZoneId());
+            return (dateFormatter != null ? dateFormatter : DEFAULT_DATE_TIME_FORMATTER).format(dateTime);
+        }
+        return value.toString();
+    }
+
+    /**
+     * 整数基本类型的文本
+     */
+    String text(long value) {
+        return decimalFormat != null ? decimalFormat.format(value) : Long.toString(value);
+    }
+
+    /**
+     * double 的文本
+     */
+    String text(double value) {
+        return decimalFormat != null ? decimalFormat.format(value) : Double.toString(value);
+    }
+}
@@ -0,0 +1,151 @@
+package com.flux.export.core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+
+/**
+ * 分批 CSV 写入器
+ * <p>
+ * 按 RFC 4180 输出 (逗号分隔, CRLF 换行, 含特殊字符的值加双引号), 经缓冲后直接编码写出,
+ * 不构建单元格对象, 无行数上限。列及字段读取句柄由 {@link ExportColumn} 预先解析
+ * <p>
+ * 各列的格式由 {@link ColumnFormat} 预先解析: 日期类型字段优先使用 {@link DateTimeFormat} 指定的格式,
+ * 否则 {@code yyyy-MM-dd HH:mm:ss}; 数值字段声明了 {@link NumberFormat} 时按该格式输出
+ */
+class CsvBatchWriter implements ExportFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char DELIMITER = ',';
+    private static final String LINE_SEPARATOR = "\r\n";
+    /** 需要手动写入 BOM 的字符集 (编码器本身不输出 BOM) */
+    private static final Set<Charset> BOM_CHARSETS = Set.of(StandardCharsets.UTF_8, StandardCharsets.UTF_16LE,
+            StandardCharsets.UTF_16BE);
+
+    private final Writer writer;
+    private final boolean bom;
+    /** 导出列 (VO 字段名), 为空时导出全部列 */
+    private final List<String> includeColumns;
+    private final StringBuilder line = new StringBuilder(256);
+    private List<ExportColumn> columns;
+    private ColumnFormat[] formats;
+    private long rowCount;
+
+    /**
+     * @param outputStream   输出流
+     * @param charset        字符集
+     * @param bom            是否写入 BOM (仅 UTF-8、UTF-16LE、UTF-16BE; UTF-16 的编码器自带 BOM),
+     *                       Excel 打开 UTF-8 文件时依赖 BOM 识别编码
+     * @param includeColumns 导出列 (VO 字段名, 按输出顺序), 为空时导出全部列
+     */
+    CsvBatchWriter(OutputStream outputStream, Charset charset, boolean bom, List<String> includeColumns) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset), BUFFER_SIZE);
+        this.bom = bom && BOM_CHARSETS.contains(charset);
+        this.includeColumns = includeColumns;
+    }
+
+    @Override
+    public void write(Class<?> dataClass, List<?> rows) throws IOException {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        if (columns == null) {
+            init(dataClass);
+        }
+        for (Object row : rows) {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(DELIMITER);
+                }
+                ExportColumn column = columns.get(i);
+                ColumnFormat format = formats[i];
+                switch (format.kind()) {
+                    case PRIMITIVE_INTEGRAL -> appendEscaped(format.text(column.getLong(row)));
+                    case PRIMITIVE_FLOATING -> appendEscaped(format.text(column.getDouble(row)));
+                    default -> {
+                        Object value = column.get(row);
+                        if (value != null) {
+                            appendEscaped(format.text(value));
+                        }
+                    }
+                }
+            }
+            line.append(LINE_SEPARATOR);
+            writer.append(line);
+        }
+        rowCount += rows.size();
+    }
+
+    /**
+     * 解析列并写入 BOM 与表头
+     */
+    private void init(Class<?> dataClass) throws IOException {
+        columns = ExportColumn.of(dataClass, includeColumns);
+        formats = new ColumnFormat[columns.size()];
+        TimeZone timeZone = TimeZone.getDefault();
+        for (int i = 0; i < columns.size(); i++) {
+            formats[i] = ColumnFormat.of(columns.get(i), timeZone);
+        }
+
+        if (bom) {
+            writer.write('\uFEFF');
+        }
+        line.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append(DELIMITER);
+            }
+            appendEscaped(columns.get(i).header());
+        }
+        line.append(LINE_SEPARATOR);
+        writer.append(line);
+    }
+
+    /**
+     * 追加字段值, 包含分隔符、引号或换行时加双引号并转义
+     */
+    private void appendEscaped(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == DELIMITER || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,116 @@
+package com.flux.export.core;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.builder.ExcelWriterBuilder;
+import com.alibaba.excel.write.metadata.WriteSheet;
+
+/**
+ * 分批 Excel 写入器
+ * <p>
+ * 基于 EasyExcel 的 {@link ExcelWriter}, 每批数据写入后即可释放, 已写入的行由 SXSSF 刷到临时文件,
+ * 堆内只保留滑动窗口
+ * <p>
+ * 单个 Sheet 写满 {@code maxRowsPerSheet} 行后自动切换到新 Sheet (Sheet1、Sheet2 ...), 每个 Sheet 均重复表头。
+ * 指定导出列时仅输出这些列, 列顺序与指定顺序一致
+ */
+class ExcelBatchWriter implements ExportFileWriter {
+
+    /** XLSX 单个 Sheet 的最大数据行数 (1,048,576 行减去表头) */
+    static final int XLSX_MAX_DATA_ROWS = 1_048_575;
+
+    private static final String SHEET_NAME_PREFIX = "Sheet";
+
+    private final OutputStream outputStream;
+    private final int maxRowsPerSheet;
+    /** 导出列 (VO 字段名), 为空时导出全部列 */
+    private final List<String> includeColumns;
+    private ExcelWriter excelWriter;
+    private WriteSheet writeSheet;
+    private int sheetCount;
+    private int sheetRowCount;
+    private long rowCount;
+
+    /**
+     * @param outputStream    输出流
+     * @param maxRowsPerSheet 单个 Sheet 的最大数据行数, 超过 XLSX 上限时按上限处理
+     * @param includeColumns  导出列 (VO 字段名, 按输出顺序), 为空时导出全部列
+     */
+    ExcelBatchWriter(OutputStream outputStream, int maxRowsPerSheet, List<String> includeColumns) {
+        this.outputStream = outputStream;
+        this.maxRowsPerSheet = maxRowsPerSheet <= 0 ? XLSX_MAX_DATA_ROWS
+                : Math.min(maxRowsPerSheet, XLSX_MAX_DATA_ROWS);
+        this.includeColumns = includeColumns;
+    }
+
+    /**
+     * 写入一批数据
+     * <p>
+     * 首次写入时以 {@code dataClass} 初始化表头; 一批数据可能跨越多个 Sheet
+     *
+     * @param dataClass VO 类型
+     * @param rows      本批数据
+     */
+    @Override
+    public void write(Class<?> dataClass, List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        if (excelWriter == null) {
+            ExcelWriterBuilder builder = EasyExcel.write(outputStream, dataClass);
+            if (!includeColumns.isEmpty()) {
+                // 校验字段存在, EasyExcel 对未知字段静默忽略
+                ExportColumn.of(dataClass, includeColumns);
+                builder.includeColumnFieldNames(includeColumns).orderByIncludeColumn(true);
+            }
+            excelWriter = builder.build();
+            nextSheet();
+        }
+        int offset = 0;
+        while (offset < rows.size()) {
+            if (sheetRowCount >= maxRowsPerSheet) {
+                nextSheet();
+            }
+            int count = Math.min(rows.size() - offset, maxRowsPerSheet - sheetRowCount);
+            excelWriter.write(count == rows.size() ? rows : rows.subList(offset, offset + count), writeSheet);
+            offset += count;
+            sheetRowCount += count;
+            rowCount += count;
+        }
+    }
+
+    /**
+     * 切换到新 Sheet
+     */
+    private void nextSheet() {
+        writeSheet = EasyExcel.writerSheet(sheetCount, SHEET_NAME_PREFIX + (sheetCount + 1)).build();
+        sheetCount++;
+        sheetRowCount = 0;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 已创建的 Sheet 数
+     */
+    int getSheetCount() {
+        return sheetCount;
+    }
+
+    /**
+     * 完成写入并输出文件
+     */
+    @Override
+    public void close() {
+        if (excelWriter != null) {
+            excelWriter.finish();
+            excelWriter = null;
+        }
+    }
+}
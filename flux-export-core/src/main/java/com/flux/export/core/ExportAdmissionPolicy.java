@@ -0,0 +1,173 @@
+package com.flux.export.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flux.export.spi.TaskQueueSpi;
+
+/**
+ * 导出准入控制
+ * <p>
+ * 在创建任务记录之前判断节点是否过载, 过载时直接拒绝 (HTTP 429 + Retry-After),
+ * 避免任务长时间堆积在 PENDING 状态、用户反复重试进一步加剧过载。
+ * <p>
+ * 排队任务数: 本地队列模式下为本节点调度队列中的任务数; 外部队列模式下为共享队列中的待处理任务数
+ * ({@link TaskQueueSpi#countPending()}, 缓存 1 秒)。
+ * <p>
+ * 配置项 ({@code flux-export.admission.*}):
+ * <ul>
+ * <li>{@code enabled}: 是否启用, 默认 true</li>
+ * <li>{@code max-queue-depth}: 排队任务数上限, 默认 100</li>
+ * <li>{@code max-running}: 执行中任务数上限, 默认 0 (不限制, 由线程数约束)</li>
+ * <li>{@code min-free-heap-ratio}: 最小空闲堆内存比例 (按最近一次 GC 后的老年代占用计算), 默认 0.1</li>
+ * <li>{@code retry-after-seconds}: 建议重试间隔基数, 默认 30 秒</li>
+ * </ul>
+ */
+@Component
+public class ExportAdmissionPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportAdmissionPolicy.class);
+
+    /** 老年代内存池 (支持 GC 后占用统计), 不存在时为 null */
+    private static final MemoryPoolMXBean OLD_GEN = oldGenPool();
+
+    /** 共享队列待处理任务数的缓存时长 */
+    private static final long PENDING_CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ExportScheduler scheduler;
+    /** 外部队列模式下的共享队列, 本地队列模式下为 null */
+    private final TaskQueueSpi taskQueueSpi;
+    private final boolean enabled;
+    private final int maxQueueDepth;
+    private final int maxRunning;
+    private final double minFreeHeapRatio;
+    private final long retryAfterSeconds;
+    /** 最近一次统计的共享队列待处理任务数 */
+    private volatile PendingCount pendingCount;
+
+    public ExportAdmissionPolicy(ExportScheduler scheduler, ObjectProvider<TaskQueueSpi> taskQueueSpi,
+            @Value("${flux-export.queue.mode:local}") String queueMode,
+            @Value("${flux-export.admission.enabled:true}") boolean enabled,
+            @Value("${flux-export.admission.max-queue-depth:100}") int maxQueueDepth,
+            @Value("${flux-export.admission.max-running:0}") int maxRunning,
+            @Value("${flux-export.admission.min-free-heap-ratio:0.1}") double minFreeHeapRatio,
+            @Value("${flux-export.admission.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.scheduler = scheduler;
+        this.taskQueueSpi = ExportQueueWorker.MODE_EXTERNAL.equalsIgnoreCase(queueMode)
+                ? taskQueueSpi.getIfAvailable()
+                : null;
+        this.enabled = enabled;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxRunning = maxRunning;
+        this.minFreeHeapRatio = minFreeHeapRatio;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 判断是否接受新的导出任务
+     *
+     * @return 准入判定结果
+     */
+    public AdmissionDecision check() {
+        if (!enabled) {
+            return AdmissionDecision.admit();
+        }
+
+        long queueDepth = queueDepth();
+        if (maxQueueDepth > 0 && queueDepth >= maxQueueDepth) {
+            // 排队越长, 建议等待越久
+            long waves = 1 + queueDepth / Math.max(1, scheduler.getPoolSize());
+            return reject("导出任务排队过多, 请稍后重试", retryAfterSeconds * Math.min(waves, 10));
+        }
+
+        int running = scheduler.getActiveCount();
+        if (maxRunning > 0 && running >= maxRunning) {
+            return reject("导出任务执行中过多, 请稍后重试", retryAfterSeconds);
+        }
+
+        double freeHeapRatio = freeHeapRatio();
+        if (freeHeapRatio < minFreeHeapRatio) {
+            return reject("服务器内存不足, 请稍后重试", retryAfterSeconds);
+        }
+
+        return AdmissionDecision.admit();
+    }
+
+    /**
+     * 建议重试间隔基数 (秒)
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private AdmissionDecision reject(String reason, long retryAfter) {
+        log.warn("导出准入拒绝: reason={}, queueDepth={}, running={}, freeHeapRatio={}", reason,
+                queueDepth(), scheduler.getActiveCount(), String.format("%.2f", freeHeapRatio()));
+        return AdmissionDecision.reject(reason, retryAfter);
+    }
+
+    /**
+     * 排队中的任务数
+     */
+    private long queueDepth() {
+        if (taskQueueSpi == null) {
+            return scheduler.getQueueDepth();
+        }
+        PendingCount cached = pendingCount;
+        long now = System.nanoTime();
+        if (cached != null && now - cached.countedNanos() < PENDING_CACHE_NANOS) {
+            return cached.count();
+        }
+        try {
+            cached = new PendingCount(taskQueueSpi.countPending(), now);
+        } catch (RuntimeException e) {
+            // 统计失败时沿用上次结果, 下次判断时重试
+            log.warn("统计共享队列待处理任务数失败", e);
+            return cached != null ? cached.count() : 0;
+        }
+        pendingCount = cached;
+        return cached.count();
+    }
+
+    /**
+     * 空闲堆内存比例
+     * <p>
+     * 取最近一次 GC 后老年代的占用: 当前堆占用包含尚未回收的垃圾, G1 等收集器下空闲节点的堆也常接近上限。
+     * 尚无 GC 后数据时, 按当前堆占用相对于最大堆计算
+     */
+    private static double freeHeapRatio() {
+        MemoryUsage collected = OLD_GEN != null ? OLD_GEN.getCollectionUsage() : null;
+        if (collected != null && collected.getMax() > 0) {
+            return 1.0 - (double) collected.getUsed() / collected.getMax();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return 1.0 - (double) used / runtime.maxMemory();
+    }
+
+    /**
+     * 查找老年代内存池: 分代收集器的 Old / Tenured 区, 不分代的收集器 (如 ZGC) 为唯一的堆内存池
+     */
+    private static MemoryPoolMXBean oldGenPool() {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                .toList();
+        return heapPools.stream()
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .findFirst()
+                .orElse(heapPools.size() == 1 ? heapPools.get(0) : null);
+    }
+
+    private record PendingCount(long count, long countedNanos) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.flux.export.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flux.export.model.ExportCheckpoint;
+import com.flux.export.model.ExportTask;
+import com.flux.export.spi.TaskPersistenceSpi;
+
+/**
+ * 执行中任务的心跳与失联任务恢复
+ * <p>
+ * 应用启动后按固定间隔执行:
+ * <ol>
+ * <li>刷新本节点执行中任务的心跳 (断点续传任务为检查点更新时间)</li>
+ * <li>查询心跳长时间未更新的处理中任务并原子接管: 存在检查点时从检查点继续导出, 否则标记为失败,
+ * 避免任务永久停留在处理中</li>
+ * </ol>
+ * 依赖 {@link TaskPersistenceSpi} 的检查点相关方法, 未实现时不做任何恢复。
+ * 外部队列模式下失联任务由租约过期后的重新领取恢复, 此处仅保留心跳
+ * <p>
+ * 配置项 ({@code flux-export.checkpoint.*}):
+ * <ul>
+ * <li>{@code recovery-enabled}: 是否接管其他节点的失联任务, 默认 true</li>
+ * <li>{@code heartbeat-interval-seconds}: 心跳与扫描间隔, 默认 60 秒</li>
+ * <li>{@code stale-after-seconds}: 心跳超过该时长未更新视为执行节点失联, 默认 300 秒 (应大于心跳间隔的数倍)</li>
+ * <li>{@code recovery-batch-size}: 每次扫描最多恢复的任务数, 默认 10</li>
+ * </ul>
+ */
+@Component
+public class ExportCheckpointRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportCheckpointRecovery.class);
+
+    private final ExportOrchestrator orchestrator;
+    private final TaskPersistenceSpi taskPersistenceSpi;
+    private final ExportScheduler scheduler;
+    private final boolean recoveryEnabled;
+    private final long heartbeatIntervalMillis;
+    private final Duration staleAfter;
+    private final int recoveryBatchSize;
+
+    public ExportCheckpointRecovery(ExportOrchestrator orchestrator, TaskPersistenceSpi taskPersistenceSpi,
+            ExportScheduler scheduler,
+            @Value("${flux-export.checkpoint.recovery-enabled:true}") boolean recoveryEnabled,
+            @Value("${flux-export.checkpoint.heartbeat-interval-seconds:60}") long heartbeatIntervalSeconds,
+            @Value("${flux-export.checkpoint.stale-after-seconds:300}") long staleAfterSeconds,
+            @Value("${flux-export.checkpoint.recovery-batch-size:10}") int recoveryBatchSize) {
+        this.orchestrator = orchestrator;
+        this.taskPersistenceSpi = taskPersistenceSpi;
+        this.scheduler = scheduler;
+        this.recoveryEnabled = recoveryEnabled;
+        this.heartbeatIntervalMillis = Duration.ofSeconds(Math.max(1, heartbeatIntervalSeconds)).toMillis();
+        this.staleAfter = Duration.ofSeconds(Math.max(1, staleAfterSeconds));
+        this.recoveryBatchSize = Math.max(1, recoveryBatchSize);
+    }
+
+    /**
+     * 应用启动完成后开始心跳与扫描
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleMaintenance(this::tick, heartbeatIntervalMillis);
+        log.info("断点续传恢复已启动: recoveryEnabled={}, heartbeatInterval={}ms, staleAfter={}", recoveryEnabled,
+                heartbeatIntervalMillis, staleAfter);
+    }
+
+    private void tick() {
+        orchestrator.heartbeat();
+        if (recoveryEnabled && !orchestrator.isQueueMode()) {
+            resumeInterruptedTasks();
+        }
+    }
+
+    /**
+     * 扫描并恢复失联任务
+     *
+     * @return 本次恢复的任务数
+     */
+    public int resumeInterruptedTasks() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        int resumed = 0;
+        for (ExportTask task : taskPersistenceSpi.findInterruptedTasks(staleBefore, recoveryBatchSize)) {
+            String taskId = task.taskId();
+            if (orchestrator.isRunning(taskId) || !taskPersistenceSpi.claimInterruptedTask(taskId, staleBefore)) {
+                // 本节点执行中, 或已被其他节点接管
+                continue;
+            }
+            ExportCheckpoint checkpoint;
+            try {
+                checkpoint = taskPersistenceSpi.findCheckpoint(taskId).orElse(null);
+            } catch (RuntimeException e) {
+                // 已接管但无法恢复, 结束任务以免永久停留在处理中
+                log.error("失联任务的检查点无法读取, 标记为失败: taskId={}", taskId, e);
+                orchestrator.failInterrupted(task, "检查点已损坏, 导出已中断, 请重新导出");
+                continue;
+            }
+            if (checkpoint == null) {
+                // 未启用断点续传, 无法从中断处继续
+                log.warn("失联任务无检查点, 标记为失败: taskId={}, bizType={}", taskId, task.bizType());
+                orchestrator.failInterrupted(task, "执行节点失联, 导出已中断, 请重新导出");
+                continue;
+            }
+            if (orchestrator.resumeTask(task, checkpoint)) {
+                resumed++;
+            }
+        }
+        return resumed;
+    }
+}
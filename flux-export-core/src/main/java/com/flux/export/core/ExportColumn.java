@@ -0,0 +1,231 @@
+package com.flux.export.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.alibaba.excel.annotation.ExcelIgnore;
+import com.alibaba.excel.annotation.ExcelIgnoreUnannotated;
+import com.alibaba.excel.annotation.ExcelProperty;
+
+/**
+ * 导出列元数据
+ * <p>
+ * 按 EasyExcel 的注解规则解析 VO 的导出列 ({@link ExcelProperty}、{@link ExcelIgnore}、
+ * {@link ExcelIgnoreUnannotated}), 并为每列预编译字段读取句柄。解析结果按类缓存,
+ * 供不经过 EasyExcel 的写入器 (CSV、原生 XLSX) 使用。基本数值类型字段另有免装箱的读取句柄
+ */
+final class ExportColumn {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+
+    private static final ClassValue<List<ExportColumn>> CACHE = new ClassValue<>() {
+        @Override
+        protected List<ExportColumn> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private final String header;
+    private final Field field;
+    private final MethodHandle getter;
+    /** 整数基本类型字段的免装箱读取句柄, 其他类型为 null */
+    private final MethodHandle longGetter;
+    /** double 字段的免装箱读取句柄, 其他类型为 null */
+    private final MethodHandle doubleGetter;
+
+    private ExportColumn(String header, Field field, MethodHandle getter, MethodHandle longGetter,
+            MethodHandle doubleGetter) {
+        this.header = header;
+        this.field = field;
+        this.getter = getter;
+        this.longGetter = longGetter;
+        this.doubleGetter = doubleGetter;
+    }
+
+    /**
+     * 获取 VO 类型的导出列 (按列顺序)
+     */
+    static List<ExportColumn> of(Class<?> dataClass) {
+        return CACHE.get(dataClass);
+    }
+
+    /**
+     * 获取 VO 类型中指定的导出列 (按指定顺序)
+     *
+     * @param dataClass VO 类型
+     * @param names     VO 字段名, 为空时返回全部导出列
+     * @throws IllegalArgumentException 字段不存在或不是导出列
+     */
+    static List<ExportColumn> of(Class<?> dataClass, List<String> names) {
+        List<ExportColumn> columns = of(dataClass);
+        if (names == null || names.isEmpty()) {
+            return columns;
+        }
+        List<ExportColumn> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            ExportColumn column = columns.stream()
+                    .filter(candidate -> candidate.name().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("未知的导出列: " + name + ", 可选: "
+                            + columns.stream().map(ExportColumn::name).toList()));
+            selected.add(column);
+        }
+        return List.copyOf(selected);
+    }
+
+    /**
+     * 表头 (多级表头取最后一级)
+     */
+    String header() {
+        return header;
+    }
+
+    /**
+     * 字段名
+     */
+    String name() {
+        return field.getName();
+    }
+
+    /**
+     * 字段类型
+     */
+    Class<?> type() {
+        return field.getType();
+    }
+
+    /**
+     * 字段上的注解
+     */
+    <A extends Annotation> A annotation(Class<A> annotationType) {
+        return field.getAnnotation(annotationType);
+    }
+
+    /**
+     * 读取一行数据中该列的值
+     */
+    Object get(Object row) {
+        try {
+            return (Object) getter.invokeExact(row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 是否为整数基本类型字段 (byte/short/int/long), 可通过 {@link #getLong(Object)} 免装箱读取
+     */
+    boolean isIntegral() {
+        return longGetter != null;
+    }
+
+    /**
+     * 是否为 double 字段, 可通过 {@link #getDouble(Object)} 免装箱读取
+     */
+    boolean isFloating() {
+        return doubleGetter != null;
+    }
+
+    /**
+     * 读取整数基本类型字段的值 (不装箱)
+     */
+    long getLong(Object row) {
+        try {
+            return (long) longGetter.invokeExact(row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 读取 double 字段的值 (不装箱)
+     */
+    double getDouble(Object row) {
+        try {
+            return (double) doubleGetter.invokeExact(row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<ExportColumn> resolve(Class<?> type) {
+        boolean ignoreUnannotated = type.isAnnotationPresent(ExcelIgnoreUnannotated.class);
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        // 父类字段在前, 同一类中按声明顺序
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(ExcelIgnore.class)) {
+                    continue;
+                }
+                if (ignoreUnannotated && !field.isAnnotationPresent(ExcelProperty.class)) {
+                    continue;
+                }
+                fields.add(field);
+            }
+        }
+        // 指定 index 的列优先, 其次按 order, 最后按声明顺序 (稳定排序)
+        fields.sort(Comparator.comparingInt(ExportColumn::index).thenComparingInt(ExportColumn::order));
+
+        List<ExportColumn> columns = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            MethodHandle getter = getterOf(field);
+            Class<?> fieldType = field.getType();
+            boolean integral = fieldType == long.class || fieldType == int.class || fieldType == short.class
+                    || fieldType == byte.class;
+            // float 不走免装箱读取: 拓宽为 double 后文本形式会变 (0.1f -> 0.10000000149011612)
+            boolean floating = fieldType == double.class;
+            columns.add(new ExportColumn(headerOf(field), field, getter.asType(GETTER_TYPE),
+                    integral ? getter.asType(LONG_GETTER_TYPE) : null,
+                    floating ? getter.asType(DOUBLE_GETTER_TYPE) : null));
+        }
+        return List.copyOf(columns);
+    }
+
+    private static int index(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        return property == null || property.index() < 0 ? Integer.MAX_VALUE : property.index();
+    }
+
+    private static int order(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        return property == null ? Integer.MAX_VALUE : property.order();
+    }
+
+    private static String headerOf(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        if (property == null || property.value().length == 0) {
+            return field.getName();
+        }
+        return property.value()[property.value().length - 1];
+    }
+
+    private static MethodHandle getterOf(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("无法读取导出字段: " + field, e);
+        }
+    }
+}
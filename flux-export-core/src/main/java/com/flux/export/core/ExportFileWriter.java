@@ -0,0 +1,33 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 导出文件写入器
+ * <p>
+ * 按批接收数据并写入输出流, 每种 {@link com.flux.export.config.ExportFormat} 对应一个实现
+ */
+interface ExportFileWriter extends AutoCloseable {
+
+    /**
+     * 写入一批数据
+     * <p>
+     * 首次写入时以 {@code dataClass} 初始化表头
+     *
+     * @param dataClass VO 类型
+     * @param rows      本批数据
+     */
+    void write(Class<?> dataClass, List<?> rows) throws IOException;
+
+    /**
+     * 已写入的数据行数 (不含表头)
+     */
+    long getRowCount();
+
+    /**
+     * 完成写入并关闭输出流
+     */
+    @Override
+    void close() throws IOException;
+}
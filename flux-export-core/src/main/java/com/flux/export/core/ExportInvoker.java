@@ -0,0 +1,77 @@
+package com.flux.export.core;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.flux.export.config.ExportConfig;
+import com.flux.export.spi.ExportDataProviderSpi;
+
+/**
+ * 预解析的导出调用器
+ * <p>
+ * 在配置注册后一次性解析业务 Bean 与方法, 编译为 {@link MethodHandle}, 执行任务时不再查找 Bean 和反射方法
+ */
+final class ExportInvoker {
+
+    private final ExportConfig config;
+    private final Supplier<Object> beanSupplier;
+    /** 业务方法句柄, 类型为 (Object bean, Object params) -> Object; 数据提供者为 null */
+    private final MethodHandle method;
+    /** 业务方法返回的 List 元素类型, 无法从泛型解析时为 null */
+    private final Class<?> elementType;
+
+    ExportInvoker(ExportConfig config, Supplier<Object> beanSupplier, MethodHandle method, Class<?> elementType) {
+        this.config = config;
+        this.beanSupplier = beanSupplier;
+        this.method = method;
+        this.elementType = elementType;
+    }
+
+    /**
+     * 对应的导出配置
+     */
+    ExportConfig config() {
+        return config;
+    }
+
+    /**
+     * 业务 Bean (单例 Bean 为缓存实例, 其他作用域每次从容器获取)
+     */
+    Object bean() {
+        return beanSupplier.get();
+    }
+
+    /**
+     * 业务 Bean 是否为分批数据提供者 ({@link com.flux.export.spi.ExportDataProviderSpi})
+     */
+    boolean isDataProvider() {
+        return method == null;
+    }
+
+    /**
+     * 导出 VO 类型
+     *
+     * @return 数据提供者声明的类型, 或业务方法返回值的泛型参数; 无法确定时为 null
+     */
+    Class<?> dataClass() {
+        return isDataProvider() ? ((ExportDataProviderSpi<?>) bean()).dataClass() : elementType;
+    }
+
+    /**
+     * 调用业务方法获取全部数据
+     *
+     * @param bean   业务 Bean
+     * @param params 已校验的参数
+     * @return 导出数据
+     */
+    List<?> invoke(Object bean, Object params) throws Exception {
+        try {
+            return (List<?>) method.invokeExact(bean, params);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
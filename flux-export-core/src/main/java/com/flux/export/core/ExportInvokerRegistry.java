@@ -0,0 +1,183 @@
+package com.flux.export.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+import com.flux.export.config.ExportConfig;
+import com.flux.export.config.ExportConfigRegistry;
+import com.flux.export.spi.ExportDataProviderSpi;
+import com.flux.export.spi.PermissionCheckerSpi;
+
+/**
+ * 导出调用器注册中心
+ * <p>
+ * 容器启动完成 (全部单例初始化) 后解析 {@link ExportConfigRegistry} 中的所有配置,
+ * 校验业务 Bean、业务方法与权限校验器, 并缓存编译好的调用器。之后注册或覆盖的配置在首次使用时解析
+ * <p>
+ * 配置项:
+ * <ul>
+ * <li>{@code flux-export.registry.fail-fast}: 存在无效配置时是否阻止启动, 默认 true;
+ * 关闭时仅记录错误日志, 提交该业务类型的任务时报错</li>
+ * </ul>
+ */
+@Component
+public class ExportInvokerRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportInvokerRegistry.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(List.class, Object.class, Object.class);
+
+    private final ApplicationContext applicationContext;
+    private final boolean failFast;
+    private final Map<String, ExportInvoker> invokers = new ConcurrentHashMap<>();
+
+    public ExportInvokerRegistry(ApplicationContext applicationContext,
+            @Value("${flux-export.registry.fail-fast:true}") boolean failFast) {
+        this.applicationContext = applicationContext;
+        this.failFast = failFast;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> errors = new ArrayList<>();
+        for (ExportConfig config : ExportConfigRegistry.getAll().values()) {
+            try {
+                invokers.put(config.bizType(), compile(config));
+            } catch (IllegalStateException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (errors.isEmpty()) {
+            log.info("导出配置校验通过: {} 个业务类型", invokers.size());
+            return;
+        }
+        if (failFast) {
+            throw new IllegalStateException("导出配置无效:\n" + String.join("\n", errors));
+        }
+        errors.forEach(error -> log.error("导出配置无效: {}", error));
+    }
+
+    /**
+     * 获取配置对应的调用器
+     * <p>
+     * 配置在启动后注册或被覆盖时, 首次使用时重新解析
+     *
+     * @param config 导出配置
+     * @return 调用器
+     * @throws IllegalStateException 配置无效
+     */
+    ExportInvoker resolve(ExportConfig config) {
+        ExportInvoker invoker = invokers.get(config.bizType());
+        if (invoker != null && invoker.config().equals(config)) {
+            return invoker;
+        }
+        invoker = compile(config);
+        invokers.put(config.bizType(), invoker);
+        return invoker;
+    }
+
+    /**
+     * 解析并校验配置, 编译调用器
+     */
+    private ExportInvoker compile(ExportConfig config) {
+        String bizType = config.bizType();
+        if (!applicationContext.containsBean(config.beanName())) {
+            throw new IllegalStateException(bizType + ": 业务 Bean 不存在: " + config.beanName());
+        }
+        if (config.hasCustomPermissionChecker()
+                && !applicationContext.isTypeMatch(config.permissionCheckerBeanName(), PermissionCheckerSpi.class)) {
+            throw new IllegalStateException(bizType + ": 权限校验器不存在或未实现 PermissionCheckerSpi: "
+                    + config.permissionCheckerBeanName());
+        }
+
+        Supplier<Object> beanSupplier;
+        if (applicationContext.isSingleton(config.beanName())) {
+            Object bean = applicationContext.getBean(config.beanName());
+            beanSupplier = () -> bean;
+        } else {
+            beanSupplier = () -> applicationContext.getBean(config.beanName());
+        }
+
+        Class<?> beanType = applicationContext.getType(config.beanName());
+        if (config.isCheckpointEnabled() && config.isSharded()) {
+            throw new IllegalStateException(bizType + ": 断点续传暂不支持分片导出");
+        }
+        if (beanType != null && ExportDataProviderSpi.class.isAssignableFrom(beanType)) {
+            return new ExportInvoker(config, beanSupplier, null, null);
+        }
+        if (config.isIncremental()) {
+            throw new IllegalStateException(bizType + ": 增量导出要求业务 Bean 实现 ExportDataProviderSpi");
+        }
+        if (config.isCheckpointEnabled()) {
+            throw new IllegalStateException(bizType + ": 断点续传要求业务 Bean 实现 ExportDataProviderSpi");
+        }
+        if (config.paramType() == null) {
+            throw new IllegalStateException(bizType + ": 未指定参数类型");
+        }
+        Class<?> targetType = beanType != null ? beanType : beanSupplier.get().getClass();
+        Method method = findMethod(targetType, config.methodName(), config.paramType());
+        if (method == null) {
+            throw new IllegalStateException(bizType + ": 方法不存在: " + targetType.getName() + "#"
+                    + config.methodName() + "(" + config.paramType().getSimpleName() + ")");
+        }
+        if (!List.class.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException(bizType + ": 方法返回值必须为 List: " + method);
+        }
+        Class<?> elementType = ResolvableType.forMethodReturnType(method, targetType).asCollection().resolveGeneric(0);
+        return new ExportInvoker(config, beanSupplier, unreflect(bizType, method), elementType);
+    }
+
+    /**
+     * 将方法编译为统一签名 (Object, Object) -> List 的句柄
+     */
+    private static MethodHandle unreflect(String bizType, Method method) {
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                // 非 public 类 (如包级可见的 Service) 需要打开访问权限
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            }
+            return handle.asType(INVOKER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException(bizType + ": 无法访问方法: " + method, e);
+        }
+    }
+
+    /**
+     * 查找方法
+     * <p>
+     * 优先精确匹配参数类型, 否则查找参数类型可接收 {@code paramType} 的同名单参方法
+     */
+    private static Method findMethod(Class<?> clazz, String methodName, Class<?> paramType) {
+        try {
+            return clazz.getMethod(methodName, paramType);
+        } catch (NoSuchMethodException e) {
+            // 尝试查找父类方法
+            for (Method method : clazz.getMethods()) {
+                if (method.getName().equals(methodName) && method.getParameterCount() == 1) {
+                    if (method.getParameterTypes()[0].isAssignableFrom(paramType)) {
+                        return method;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
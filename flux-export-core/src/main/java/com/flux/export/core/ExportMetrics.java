@@ -0,0 +1,82 @@
+package com.flux.export.core;
+
+/**
+ * 导出指标记录
+ * <p>
+ * 类路径上存在 Micrometer 时由 {@link MicrometerExportMetrics} 实现, 否则不记录 ({@link #NOOP})。
+ * 任务计数按任务记录统计 (共享同一次执行的任务各计一次), 耗时、行数与字节数按实际执行统计
+ */
+public interface ExportMetrics {
+
+    /** 不记录任何指标 */
+    ExportMetrics NOOP = new ExportMetrics() {
+    };
+
+    /**
+     * 导出阶段
+     */
+    enum Phase {
+        /** 查询 (拉取一页数据或调用业务方法) */
+        QUERY,
+        /** 写入文件 (渲染一批数据) */
+        RENDER,
+        /** 上传 (合并分片或上传整个文件) */
+        UPLOAD
+    }
+
+    /**
+     * 任务已提交
+     */
+    default void submitted(String bizType) {
+    }
+
+    /**
+     * 导出请求被拒绝 (准入控制拒绝, 或调度队列已满)
+     *
+     * @param reason 拒绝原因: {@code admission} 或 {@code queue-full}
+     */
+    default void rejected(String bizType, String reason) {
+    }
+
+    /**
+     * 任务开始执行
+     *
+     * @param waitNanos 从提交到开始执行的耗时 (纳秒)
+     */
+    default void started(String bizType, long waitNanos) {
+    }
+
+    /**
+     * 记录一次阶段耗时
+     */
+    default void phase(String bizType, Phase phase, long nanos) {
+    }
+
+    /**
+     * 执行成功完成
+     *
+     * @param rows          写入行数
+     * @param bytes         上传的字节数
+     * @param durationNanos 执行耗时 (纳秒)
+     */
+    default void completed(String bizType, long rows, long bytes, long durationNanos) {
+    }
+
+    /**
+     * 任务成功
+     */
+    default void succeeded(String bizType) {
+    }
+
+    /**
+     * 任务失败
+     */
+    default void failed(String bizType) {
+    }
+
+    /**
+     * 任务已取消 (取消请求被接受)
+     */
+    default void cancelled(String bizType) {
+    }
+}
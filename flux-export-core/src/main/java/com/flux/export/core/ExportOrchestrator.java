@@ -1,49 +1,180 @@
 package com.flux.export.core;
 
-import java.io.ByteArrayOutputStream;
-import java.lang.reflect.Method;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
-import com.alibaba.excel.EasyExcel;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flux.export.config.CompressionMode;
 import com.flux.export.config.ExportConfig;
 import com.flux.export.config.ExportConfigRegistry;
+import com.flux.export.config.ExportFormat;
+import com.flux.export.config.ShardMode;
+import com.flux.export.model.CancellationToken;
+import com.flux.export.model.ExportCheckpoint;
+import com.flux.export.model.ExportPage;
+import com.flux.export.model.ExportPageRequest;
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.ExportTask;
+import com.flux.export.model.ExportWatermark;
+import com.flux.export.model.TaskStatus;
+import com.flux.export.spi.ExportDataProviderSpi;
 import com.flux.export.spi.FileStorageSpi;
+import com.flux.export.spi.ShardedDataProviderSpi;
 import com.flux.export.spi.TaskPersistenceSpi;
+import com.flux.export.spi.WatermarkStoreSpi;
+
+import jakarta.annotation.PreDestroy;
 
 /**
  * 核心调度器 ExportOrchestrator
  * <p>
- * 负责任务调度、生命周期管理、反射调用业务方法、生成 Excel 等
+ * 负责任务调度、生命周期管理、调用业务方法 (或分批拉取数据)、生成导出文件 (Excel / CSV) 等
  */
 @Component
 public class ExportOrchestrator {
 
     private static final Logger log = LoggerFactory.getLogger(ExportOrchestrator.class);
     private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    /** 写入完成后, 打包与上传阶段的进度 */
+    private static final int UPLOAD_PERCENT = 95;
 
     private final ApplicationContext applicationContext;
     private final TaskPersistenceSpi taskPersistenceSpi;
     private final FileStorageSpi fileStorageSpi;
-    private final ExecutorService executor;
+    private final ExportScheduler scheduler;
+    private final ExportInvokerRegistry invokerRegistry;
+    private final WatermarkStoreSpi watermarkStore;
+    private final ObjectMapper objectMapper;
+    private final ExportMetrics metrics;
+
+    /** 排队中及执行中的任务, 用于取消 */
+    private final Map<String, RunningTask> runningTasks = new ConcurrentHashMap<>();
+    /** 相同导出的单飞与结果复用 */
+    private final ExportResultCache resultCache;
+
+    /** 是否将导出文件写入本地临时文件 (而非内存) */
+    private final boolean spoolEnabled;
+    /** 临时文件目录 */
+    private final Path spoolDir;
+    /** 存储支持时是否边生成边分片上传 */
+    private final boolean multipartEnabled;
+    /** 分片大小 (字节) */
+    private final int multipartPartSize;
+    /** 是否启用拉取/写入流水线 */
+    private final boolean pipelineEnabled;
+    /** 流水线预取队列容量 (页) */
+    private final int pipelineQueueCapacity;
+    /** 单个 Sheet 的最大数据行数, 超过后自动切换新 Sheet */
+    private final int sheetMaxRows;
+    /** 是否使用原生 XLSX 写入器 (否则使用 EasyExcel) */
+    private final boolean nativeXlsx;
+    /** 原生 XLSX 写入器的压缩级别 */
+    private final int xlsxCompressionLevel;
+    /** 共享字符串表的最大条目数 (每个文件), 0 表示全部写为内联字符串 */
+    private final int sharedStringsMaxEntries;
+    /** 未声明的列新增的不同值超过该值后视为高基数列, 改写为内联字符串 */
+    private final int sharedStringsColumnCardinality;
+    /** CSV 字符集 */
+    private final Charset csvCharset;
+    /** CSV 是否写入 BOM */
+    private final boolean csvBom;
+    /** 写入阶段进度的最小上报间隔 (毫秒) */
+    private final long progressReportInterval;
+    /** 单个任务缓冲数据的内存预算 (字节, 按抽样行大小 × 行数估算) */
+    private final long memoryBudget;
+    /** 业务方法返回的整批数据超出预算时是否溢写到临时文件 */
+    private final boolean spillEnabled;
+    /** 溢写用的 ObjectMapper (按字段序列化) */
+    private final ObjectMapper spillMapper;
+    /** 是否使用外部共享队列 (任务由各节点的 {@link ExportQueueWorker} 领取执行) */
+    private final boolean queueMode;
+    /** 节点正在关闭, 此后中断的断点续传任务保留检查点, 由其他节点恢复 */
+    private volatile boolean shuttingDown;
 
     public ExportOrchestrator(ApplicationContext applicationContext,
-            TaskPersistenceSpi taskPersistenceSpi, FileStorageSpi fileStorageSpi) {
+            TaskPersistenceSpi taskPersistenceSpi, FileStorageSpi fileStorageSpi, ExportScheduler scheduler,
+            ExportInvokerRegistry invokerRegistry, WatermarkStoreSpi watermarkStore, ObjectMapper objectMapper,
+            ObjectProvider<ExportMetrics> metrics,
+            @Value("${flux-export.spool.enabled:false}") boolean spoolEnabled,
+            @Value("${flux-export.spool.dir:${java.io.tmpdir}/flux-export}") String spoolDir,
+            @Value("${flux-export.storage.multipart.enabled:true}") boolean multipartEnabled,
+            @Value("${flux-export.storage.multipart.part-size:8388608}") int multipartPartSize,
+            @Value("${flux-export.pipeline.enabled:false}") boolean pipelineEnabled,
+            @Value("${flux-export.pipeline.queue-capacity:2}") int pipelineQueueCapacity,
+            @Value("${flux-export.sheet.max-rows:1000000}") int sheetMaxRows,
+            @Value("${flux-export.writer.engine:native}") String writerEngine,
+            @Value("${flux-export.writer.xlsx-compression-level:1}") int xlsxCompressionLevel,
+            @Value("${flux-export.writer.shared-strings.max-entries:16384}") int sharedStringsMaxEntries,
+            @Value("${flux-export.writer.shared-strings.column-cardinality:256}") int sharedStringsColumnCardinality,
+            @Value("${flux-export.csv.charset:UTF-8}") String csvCharset,
+            @Value("${flux-export.csv.bom:true}") boolean csvBom,
+            @Value("${flux-export.progress.report-interval-ms:1000}") long progressReportInterval,
+            @Value("${flux-export.queue.mode:local}") String queueMode,
+            @Value("${flux-export.memory.task-budget-bytes:134217728}") long memoryBudget,
+            @Value("${flux-export.memory.spill-enabled:true}") boolean spillEnabled) {
         this.applicationContext = applicationContext;
         this.taskPersistenceSpi = taskPersistenceSpi;
         this.fileStorageSpi = fileStorageSpi;
-        // 使用固定线程池执行异步任务
-        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.scheduler = scheduler;
+        this.invokerRegistry = invokerRegistry;
+        this.watermarkStore = watermarkStore;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics.getIfAvailable(() -> ExportMetrics.NOOP);
+        this.resultCache = new ExportResultCache(objectMapper);
+        this.spoolEnabled = spoolEnabled;
+        this.spoolDir = Paths.get(spoolDir);
+        this.multipartEnabled = multipartEnabled;
+        this.multipartPartSize = multipartPartSize;
+        this.pipelineEnabled = pipelineEnabled;
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+        this.sheetMaxRows = sheetMaxRows;
+        this.nativeXlsx = !XlsxStreamWriter.ENGINE_EASYEXCEL.equalsIgnoreCase(writerEngine);
+        this.xlsxCompressionLevel = xlsxCompressionLevel < -1 || xlsxCompressionLevel > 9 ? -1 : xlsxCompressionLevel;
+        this.sharedStringsMaxEntries = sharedStringsMaxEntries;
+        this.sharedStringsColumnCardinality = sharedStringsColumnCardinality;
+        this.csvCharset = Charset.forName(csvCharset);
+        this.csvBom = csvBom;
+        this.progressReportInterval = progressReportInterval;
+        this.queueMode = ExportQueueWorker.MODE_EXTERNAL.equalsIgnoreCase(queueMode);
+        this.memoryBudget = memoryBudget;
+        this.spillEnabled = spillEnabled;
+        this.spillMapper = objectMapper.copy()
+                .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
     /**
@@ -55,25 +186,382 @@ public class ExportOrchestrator {
      * @param userId          用户 ID
      * @param validatedParams 已校验的参数对象
      * @return 任务 ID
+     * @throws IllegalStateException      业务配置无效 (Bean 或方法不存在), 不创建任务记录
+     * @throws RejectedExecutionException 调度队列已满, 不创建任务记录
      */
     public String submitTask(String bizType, String userId, Object validatedParams) {
-        // 1. 检查配置是否存在
+        return submitTask(bizType, userId, validatedParams, null);
+    }
+
+    /**
+     * 以指定文件格式提交导出任务
+     *
+     * @param bizType         业务类型
+     * @param userId          用户 ID
+     * @param validatedParams 已校验的参数对象
+     * @param format          导出文件格式, 为 null 时使用业务配置的默认格式
+     * @return 任务 ID
+     * @throws IllegalStateException      业务配置无效 (Bean 或方法不存在), 不创建任务记录
+     * @throws RejectedExecutionException 调度队列已满, 不创建任务记录
+     */
+    public String submitTask(String bizType, String userId, Object validatedParams, ExportFormat format) {
+        return submitTask(bizType, userId, validatedParams, format, null);
+    }
+
+    /**
+     * 以指定文件格式与导出列提交导出任务
+     *
+     * @param bizType         业务类型
+     * @param userId          用户 ID
+     * @param validatedParams 已校验的参数对象
+     * @param format          导出文件格式, 为 null 时使用业务配置的默认格式
+     * @param columns         导出列 (VO 字段名, 按输出顺序), 为空时导出全部列
+     * @return 任务 ID
+     * @throws IllegalArgumentException   导出列不存在, 不创建任务记录
+     * @throws IllegalStateException      业务配置无效 (Bean 或方法不存在), 不创建任务记录
+     * @throws RejectedExecutionException 调度队列已满, 不创建任务记录
+     */
+    public String submitTask(String bizType, String userId, Object validatedParams, ExportFormat format,
+            List<String> columns) {
+        // 1. 检查配置是否存在, 获取预解析的调用器
         ExportConfig config = ExportConfigRegistry.get(bizType)
                 .orElseThrow(() -> new IllegalArgumentException("未找到业务类型配置: " + bizType));
+        ExportInvoker invoker = invokerRegistry.resolve(config);
+        ExportFormat effectiveFormat = format != null ? format : config.format();
+        List<String> projection = projection(invoker, columns);
+        // 增量导出的结果依赖各用户的水位, 不参与复用; 外部队列模式下任务可能在其他节点执行, 无法单飞
+        String cacheKey = config.isResultCacheEnabled() && !config.isIncremental() && !queueMode
+                ? resultCache.key(bizType, effectiveFormat, projection, validatedParams)
+                : null;
 
         // 2. 生成任务 ID
         String taskId = UUID.randomUUID().toString().replace("-", "");
 
-        // 3. 创建任务记录
-        ExportTask task = ExportTask.createPending(taskId, bizType, userId, validatedParams);
-        taskPersistenceSpi.createTask(task);
+        // 3. 本节点执行时先占用调度队列位置, 队列已满则直接拒绝, 不创建任务记录;
+        //    任务在记录创建后才放行执行
+        RunningTask running = null;
+        if (!queueMode) {
+            running = reserve(taskId, userId, invoker, validatedParams, effectiveFormat, projection);
+        }
+
+        // 4. 创建任务记录
+        ExportTask task = ExportTask.createPending(taskId, bizType, userId, validatedParams, effectiveFormat.name(),
+                projection);
+        try {
+            taskPersistenceSpi.createTask(task);
+        } catch (RuntimeException e) {
+            release(running);
+            throw e;
+        }
+        metrics.submitted(bizType);
 
-        // 4. 异步执行(传入已校验的参数)
-        executor.submit(() -> executeTask(taskId, config, validatedParams));
+        // 外部队列模式: 任务记录即队列条目, 由空闲节点领取
+        if (queueMode) {
+            log.info("导出任务已入队: taskId={}, bizType={}", taskId, bizType);
+            return taskId;
+        }
+
+        // 5. 结果复用: 有效期内的结果直接复用, 相同导出执行中则挂到该次执行上
+        if (cacheKey != null) {
+            ExportResultCache.Join join = resultCache.join(cacheKey, taskId);
+            if (join.type() == ExportResultCache.JoinType.CACHED) {
+                release(running);
+                taskPersistenceSpi.markSuccess(taskId, join.fileUrl());
+                metrics.succeeded(bizType);
+                log.info("导出结果复用: taskId={}, fileUrl={}", taskId, join.fileUrl());
+                return taskId;
+            }
+            if (join.type() == ExportResultCache.JoinType.ATTACHED) {
+                release(running);
+                log.info("导出任务挂靠到执行中的相同导出: taskId={}, bizType={}", taskId, bizType);
+                return taskId;
+            }
+        }
+
+        // 6. 放行执行
+        runningTasks.put(taskId, running);
+        running.admit();
 
         return taskId;
     }
 
+    /**
+     * 占用调度队列位置
+     * <p>
+     * 任务在 {@link RunningTask#admit()} 之前不会开始执行
+     *
+     * @throws RejectedExecutionException 调度队列已满
+     */
+    private RunningTask reserve(String taskId, String userId, ExportInvoker invoker, Object validatedParams,
+            ExportFormat format, List<String> projection) {
+        ExportConfig config = invoker.config();
+        RunningTask running = new RunningTask(config.bizType(), userId, projection);
+        try {
+            running.future = scheduler.submit(config.priority(),
+                    () -> executeTask(taskId, invoker, validatedParams, format, running));
+        } catch (RejectedExecutionException e) {
+            log.warn("导出队列已满, 拒绝任务: bizType={}, queueDepth={}", config.bizType(), scheduler.getQueueDepth());
+            throw e;
+        }
+        return running;
+    }
+
+    /**
+     * 释放已占用但无需执行的调度队列位置
+     */
+    private void release(RunningTask running) {
+        if (running == null) {
+            return;
+        }
+        running.cancel();
+        scheduler.cancel(running.future);
+        running.admit();
+    }
+
+    /**
+     * 规范化并校验导出列
+     * <p>
+     * 去除空白与重复项; VO 类型已知时校验字段均为导出列, 否则在写入时校验
+     */
+    private static List<String> projection(ExportInvoker invoker, List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return List.of();
+        }
+        List<String> projection = columns.stream()
+                .filter(column -> column != null && !column.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        Class<?> dataClass = invoker.dataClass();
+        if (dataClass != null) {
+            ExportColumn.of(dataClass, projection);
+        }
+        return projection;
+    }
+
+    /**
+     * 取消导出任务
+     * <p>
+     * 排队中的任务直接移出队列; 执行中的任务在下一批次前终止, 正在执行的查询通过取消回调中断,
+     * 临时文件与未完成的分片上传在终止时清理
+     *
+     * <p>
+     * 与其他任务共享同一次执行 (结果复用) 时, 仅取消该任务, 执行在没有其他订阅者时才终止
+     *
+     * <p>
+     * 外部队列模式下, 不在本节点执行的任务直接标记为已取消, 执行节点在下次续约时发现并终止
+     *
+     * @param taskId 任务 ID
+     * @return 任务是否在本节点排队或执行中 (外部队列模式下为任务是否尚未结束)
+     */
+    public boolean cancelTask(String taskId) {
+        String runnerTaskId = resultCache.detach(taskId);
+        if (runnerTaskId == null) {
+            // 其他任务仍在等待同一次执行
+            taskPersistenceSpi.markCancelled(taskId);
+            log.info("导出任务取消 (共享执行继续): taskId={}", taskId);
+            return true;
+        }
+        RunningTask running = runningTasks.get(runnerTaskId);
+        if (running == null) {
+            return queueMode && cancelQueued(taskId);
+        }
+        if (running.cancel()) {
+            // 尚未开始执行, 由此处收尾
+            runningTasks.remove(runnerTaskId);
+            if (running.future != null) {
+                scheduler.cancel(running.future);
+            }
+            resultCache.complete(runnerTaskId, null, null).forEach(taskPersistenceSpi::markCancelled);
+        }
+        log.info("导出任务取消: taskId={}", taskId);
+        return true;
+    }
+
+    /**
+     * 外部队列中尚未结束的任务直接标记为已取消
+     */
+    private boolean cancelQueued(String taskId) {
+        ExportTask task = taskPersistenceSpi.findById(taskId).orElse(null);
+        if (task == null || (task.status() != TaskStatus.PENDING && task.status() != TaskStatus.PROCESSING)) {
+            return false;
+        }
+        taskPersistenceSpi.markCancelled(taskId);
+        log.info("导出任务取消 (外部队列): taskId={}, status={}", taskId, task.status());
+        return true;
+    }
+
+    /**
+     * 从检查点恢复执行节点已失联的任务
+     *
+     * @param task       任务记录
+     * @param checkpoint 检查点
+     * @return 是否已提交执行
+     */
+    boolean resumeTask(ExportTask task, ExportCheckpoint checkpoint) {
+        return startExisting(task, checkpoint, false);
+    }
+
+    /**
+     * 执行从外部队列领取的任务
+     * <p>
+     * 任务存在检查点 (上一个领取节点已失联) 时从检查点继续
+     *
+     * @param task 领取到的任务
+     * @return 是否已提交执行
+     */
+    boolean runClaimed(ExportTask task) {
+        ExportCheckpoint checkpoint;
+        try {
+            checkpoint = taskPersistenceSpi.findCheckpoint(task.taskId()).orElse(null);
+        } catch (RuntimeException e) {
+            log.error("领取任务的检查点无法读取, 标记为失败: taskId={}", task.taskId(), e);
+            failInterrupted(task, "检查点已损坏, 导出已中断, 请重新导出");
+            return false;
+        }
+        return startExisting(task, checkpoint, true);
+    }
+
+    /**
+     * 执行已存在任务记录的任务 (检查点恢复或队列领取)
+     */
+    private boolean startExisting(ExportTask task, ExportCheckpoint checkpoint, boolean leased) {
+        String taskId = task.taskId();
+        ExportInvoker invoker;
+        Object typedParams;
+        ExportFormat format;
+        try {
+            ExportConfig config = ExportConfigRegistry.get(task.bizType())
+                    .orElseThrow(() -> new IllegalArgumentException("未找到业务类型配置: " + task.bizType()));
+            invoker = invokerRegistry.resolve(config);
+            typedParams = toParamType(task.params(), config.paramType());
+            String formatName = checkpoint != null ? checkpoint.format() : task.format();
+            format = formatName != null ? ExportFormat.valueOf(formatName) : config.format();
+        } catch (RuntimeException e) {
+            log.error("导出任务启动失败: taskId={}", taskId, e);
+            if (checkpoint != null) {
+                checkpoint.partUrls().forEach(this::deleteQuietly);
+                taskPersistenceSpi.deleteCheckpoint(taskId);
+            }
+            taskPersistenceSpi.markFailed(taskId, "任务启动失败: " + e.getMessage());
+            metrics.failed(task.bizType());
+            return false;
+        }
+
+        RunningTask running = new RunningTask(task.bizType(), task.userId(), task.columns());
+        running.checkpoint = checkpoint;
+        running.leased = leased;
+        if (leased && checkpoint == null && task.createTime() != null) {
+            // 从外部队列领取: 排队耗时从任务创建时开始计算
+            running.submitNanos -= Duration.between(task.createTime(), LocalDateTime.now()).toNanos();
+        }
+        if (runningTasks.putIfAbsent(taskId, running) != null) {
+            return false;
+        }
+        running.admit();
+        try {
+            running.future = scheduler.submit(invoker.config().priority(),
+                    () -> executeTask(taskId, invoker, typedParams, format, running));
+        } catch (RejectedExecutionException e) {
+            // 检查点与租约保持不变, 过期后再次领取
+            runningTasks.remove(taskId);
+            log.warn("导出队列已满, 稍后重新执行: taskId={}", taskId);
+            return false;
+        }
+        if (checkpoint != null) {
+            log.info("导出任务从检查点恢复: taskId={}, bizType={}, parts={}, rows={}", taskId, task.bizType(),
+                    checkpoint.partUrls().size(), checkpoint.rowCount());
+        } else {
+            log.info("导出任务已领取: taskId={}, bizType={}", taskId, task.bizType());
+        }
+        return true;
+    }
+
+    /**
+     * 本节点持有租约的任务
+     */
+    Set<String> leasedTaskIds() {
+        Set<String> taskIds = new HashSet<>();
+        runningTasks.forEach((taskId, task) -> {
+            if (task.leased) {
+                taskIds.add(taskId);
+            }
+        });
+        return taskIds;
+    }
+
+    /**
+     * 放弃已失去租约的任务
+     * <p>
+     * 任务已被取消或已由其他节点接管, 本节点停止执行且不再更新任务状态
+     */
+    void abandon(String taskId) {
+        RunningTask running = runningTasks.get(taskId);
+        if (running == null || running.abandoned) {
+            return;
+        }
+        running.abandoned = true;
+        if (running.cancel()) {
+            runningTasks.remove(taskId);
+            if (running.future != null) {
+                scheduler.cancel(running.future);
+            }
+        }
+        log.warn("导出任务租约已失效, 停止执行: taskId={}", taskId);
+    }
+
+    /**
+     * 是否使用外部共享队列
+     */
+    boolean isQueueMode() {
+        return queueMode;
+    }
+
+    /**
+     * 任务是否在本节点排队或执行中
+     */
+    boolean isRunning(String taskId) {
+        return runningTasks.containsKey(taskId);
+    }
+
+    /**
+     * 刷新本节点执行中任务的心跳
+     * <p>
+     * 断点续传任务刷新检查点更新时间, 其他任务通过 {@link TaskPersistenceSpi#heartbeat} 刷新心跳时间
+     */
+    void heartbeat() {
+        List<String> taskIds = new ArrayList<>();
+        runningTasks.forEach((taskId, task) -> {
+            synchronized (task) {
+                if (task.checkpoint != null) {
+                    commitCheckpoint(task, task.checkpoint.touch());
+                } else if (task.started) {
+                    taskIds.add(taskId);
+                }
+            }
+        });
+        if (!taskIds.isEmpty()) {
+            taskPersistenceSpi.heartbeat(taskIds, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 将无法恢复的失联任务标记为失败并删除其检查点
+     */
+    void failInterrupted(ExportTask task, String errorMsg) {
+        taskPersistenceSpi.deleteCheckpoint(task.taskId());
+        taskPersistenceSpi.markFailed(task.taskId(), errorMsg);
+        metrics.failed(task.bizType());
+    }
+
+    /**
+     * 节点关闭时保留执行中任务的检查点
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+    }
+
     /**
      * 获取业务配置
      *
@@ -99,76 +587,792 @@ public class ExportOrchestrator {
      * 异步执行导出任务
      *
      * @param taskId      任务ID
-     * @param config      导出配置
+     * @param invoker     预解析的调用器
      * @param typedParams 已校验的参数对象
+     * @param format      导出文件格式
+     * @param running     任务句柄
      */
-    private void executeTask(String taskId, ExportConfig config, Object typedParams) {
+    private void executeTask(String taskId, ExportInvoker invoker, Object typedParams, ExportFormat format,
+            RunningTask running) {
+        try {
+            running.awaitAdmission();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!running.start()) {
+            // 排队期间已被取消
+            return;
+        }
+        ExportConfig config = invoker.config();
+        CancellationToken token = running.token;
+        running.progress = new ProgressTracker(progressReportInterval);
+        long startNanos = System.nanoTime();
+        metrics.started(config.bizType(), startNanos - running.submitNanos);
+        ExportTaskEvent event = ExportTaskEvent.begin(config.bizType(), taskId);
+        String status = "failed";
         try {
-            // 更新状态为处理中
-            taskPersistenceSpi.updateProgress(taskId, 0);
+            // 更新状态为处理中, 并记录心跳 (执行节点失联后可被其他节点发现)
+            reportProgress(taskId, running.progress.at(0));
+            taskPersistenceSpi.heartbeat(List.of(taskId), LocalDateTime.now());
 
-            // 1. 反射调用业务方法
-            Class<?> paramType = config.paramType();
-            Object bean = applicationContext.getBean(config.beanName());
-            Method method = findMethod(bean.getClass(), config.methodName(), paramType);
+            ExportCheckpoint resumeFrom = running.checkpoint;
+            if (resumeFrom != null) {
+                // 从检查点恢复: 沿用原任务的起始水位
+                running.baseWatermark = resumeFrom.baseWatermark();
+                running.offerWatermark(resumeFrom.watermark());
+                running.progress.resumeFrom(resumeFrom.rowCount());
+                running.resumedRows = resumeFrom.rowCount();
+            } else if (config.isIncremental()) {
+                // 增量导出: 从上次导出的水位之后开始
+                running.baseWatermark = watermarkStore.find(running.userId, config.bizType())
+                        .map(ExportWatermark::value)
+                        .orElse(null);
+                log.info("增量导出: taskId={}, watermarkKey={}, from={}", taskId, config.watermarkKey(),
+                        running.baseWatermark);
+            }
 
-            List<?> dataList = (List<?>) method.invoke(bean, typedParams);
+            // 1. 拉取业务数据, 写入并上传文件
+            String fileUrl = isCheckpointed(config, running)
+                    ? writeSegments(taskId, invoker, typedParams, format, running)
+                    : writeFile(taskId, invoker, typedParams, format, running);
 
-            taskPersistenceSpi.updateProgress(taskId, 50);
+            // 2. 记录增量水位, 下次从此处继续 (无新增数据时水位不变)
+            if (config.isIncremental() && fileUrl != null) {
+                saveWatermark(taskId, config, running, fileUrl);
+            }
 
-            // 2. 生成 Excel
-            byte[] excelContent = generateExcel(dataList);
+            // 3. 更新为成功状态 (含共享该次执行的任务)
+            for (String subscriber : resultCache.complete(taskId, fileUrl, config.resultCacheTtl())) {
+                taskPersistenceSpi.markSuccess(subscriber, fileUrl);
+                metrics.succeeded(config.bizType());
+            }
+            clearCheckpoint(taskId, running, fileUrl);
+            metrics.completed(config.bizType(), running.progress.rowsWritten() - running.resumedRows,
+                    running.uploadedBytes, System.nanoTime() - startNanos);
+            status = "success";
 
-            taskPersistenceSpi.updateProgress(taskId, 80);
+            if (fileUrl == null) {
+                log.info("增量导出无新增数据, 任务完成且不生成文件: taskId={}, watermark={}", taskId,
+                        running.baseWatermark);
+            } else {
+                log.info("导出任务完成: taskId={}, fileUrl={}", taskId, fileUrl);
+            }
 
-            // 3. 上传文件
-            String fileName = config.bizType() + "_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".xlsx";
-            String fileUrl = fileStorageSpi.upload(fileName, excelContent);
+        } catch (Exception e) {
+            if (running.abandoned) {
+                // 租约已失效: 任务状态由取消方或接管节点负责
+                status = "abandoned";
+                log.info("导出任务已放弃: taskId={}", taskId);
+                return;
+            }
+            if (shuttingDown && (running.checkpoint != null || running.leased) && !token.isCancelled()) {
+                // 节点关闭导致的中断: 任务保持处理中, 由其他节点从检查点恢复或在租约过期后重新领取
+                status = "interrupted";
+                log.info("节点关闭, 导出任务留待其他节点继续: taskId={}", taskId);
+                return;
+            }
+            clearCheckpoint(taskId, running, null);
+            if (token.isCancelled()) {
+                // 取消导致的异常 (含被中断的查询) 不视为失败
+                status = "cancelled";
+                log.info("导出任务已取消: taskId={}", taskId);
+                resultCache.complete(taskId, null, null).forEach(taskPersistenceSpi::markCancelled);
+            } else {
+                log.error("导出任务失败: taskId={}", taskId, e);
+                for (String subscriber : resultCache.complete(taskId, null, null)) {
+                    taskPersistenceSpi.markFailed(subscriber, e.getMessage());
+                    metrics.failed(config.bizType());
+                }
+            }
+        } finally {
+            runningTasks.remove(taskId);
+            event.finish(status, running.progress.rowsWritten() - running.resumedRows, running.uploadedBytes);
+        }
+    }
 
-            // 4. 更新为成功状态
-            taskPersistenceSpi.markSuccess(taskId, fileUrl);
+    /**
+     * 是否以断点续传模式执行
+     * <p>
+     * 多个分段需下载后打包, 存储不支持下载时退化为普通导出
+     */
+    private boolean isCheckpointed(ExportConfig config, RunningTask running) {
+        if (running.checkpoint != null) {
+            return true;
+        }
+        if (!config.isCheckpointEnabled()) {
+            return false;
+        }
+        if (!fileStorageSpi.supportsDownload()) {
+            log.warn("文件存储不支持下载, 无法合并分段, 忽略断点续传配置: bizType={}", config.bizType());
+            return false;
+        }
+        return true;
+    }
 
-            log.info("导出任务完成: taskId={}, fileUrl={}", taskId, fileUrl);
+    /**
+     * 生成单个导出文件并上传
+     *
+     * @return 文件下载 URL, 增量导出无新增数据时为 null
+     */
+    @SuppressWarnings("unchecked")
+    private String writeFile(String taskId, ExportInvoker invoker, Object typedParams, ExportFormat format,
+            RunningTask running) throws Exception {
+        ExportConfig config = invoker.config();
+        Object bean = invoker.bean();
+        List<Object> shards = splitShards(taskId, config, bean, typedParams);
+        if (invoker.isDataProvider()) {
+            estimateTotal(taskId, config, (ExportDataProviderSpi<Object>) bean, shards, running);
+        }
+        boolean zipParts = shards.size() > 1 && config.shardMode() == ShardMode.ZIP_PARTS;
+        String baseName = newFileBaseName(config);
+        CompressionMode compression = OutputCompression.effectiveMode(config.compression(), format);
+        String fileName = zipParts ? baseName + ".zip" : OutputCompression.fileName(baseName, format, compression);
 
-        } catch (Exception e) {
-            log.error("导出任务失败: taskId={}", taskId, e);
-            taskPersistenceSpi.markFailed(taskId, e.getMessage());
+        try (ExportOutput output = openOutput(taskId, fileName)) {
+            long rowCount = zipParts
+                    ? writeShardParts(taskId, config, (ExportDataProviderSpi<?>) bean, shards, format, running,
+                            output.stream())
+                    : writeWorkbook(taskId, invoker, bean, shards, format, running,
+                            OutputCompression.wrap(output.stream(), compression, config.compressionLevel(),
+                                    baseName + format.extension()));
+            if (rowCount == 0) {
+                return noData(running);
+            }
+            running.token.throwIfCancelled();
+
+            reportProgress(taskId, running.progress.at(UPLOAD_PERCENT));
+
+            // 分片上传模式下仅需合并分片
+            return upload(taskId, running, output, fileName);
         }
     }
 
     /**
-     * 查找方法
+     * 分段写入并逐段上传, 每段完成后保存检查点; 多个分段最终打包为 zip
+     * <p>
+     * 从检查点恢复时, 已上传的分段不再重新生成, 从检查点的游标继续拉取
+     *
+     * @return 文件下载 URL, 增量导出无新增数据时为 null
      */
-    private Method findMethod(Class<?> clazz, String methodName, Class<?> paramType)
-            throws NoSuchMethodException {
+    @SuppressWarnings("unchecked")
+    private String writeSegments(String taskId, ExportInvoker invoker, Object typedParams, ExportFormat format,
+            RunningTask task) throws Exception {
+        ExportConfig config = invoker.config();
+        ExportDataProviderSpi<Object> provider = (ExportDataProviderSpi<Object>) invoker.bean();
+        Class<?> dataClass = provider.dataClass();
+        Function<String, ExportPage> fetcher = pageFetcher(taskId, config, provider, typedParams, task);
+        // 多个分段统一打包为 zip, 分段本身不再单独 zip
+        CompressionMode configured = OutputCompression.effectiveMode(config.compression(), format);
+        CompressionMode compression = configured == CompressionMode.ZIP ? CompressionMode.NONE : configured;
+
+        ExportCheckpoint checkpoint = task.checkpoint;
+        if (checkpoint == null) {
+            checkpoint = ExportCheckpoint.start(taskId, format.name(), newFileBaseName(config), task.baseWatermark);
+            commitCheckpoint(task, checkpoint);
+        }
+        if (!checkpoint.completed()) {
+            estimateTotal(taskId, config, provider, List.of(typedParams), task);
+        }
+        while (!checkpoint.completed()) {
+            String segmentName = segmentName(checkpoint.fileBaseName(), checkpoint.partUrls().size() + 1);
+            String fileName = OutputCompression.fileName(segmentName, format, compression);
+            String cursor = checkpoint.cursor();
+            boolean hasNext;
+            long rows;
+            String partUrl = null;
+            try (ExportOutput output = openOutput(taskId, fileName)) {
+                try (ExportFileWriter writer = openWriter(format, OutputCompression.wrap(output.stream(),
+                        compression, config.compressionLevel(), segmentName + format.extension()), config, task)) {
+                    do {
+                        ExportPage page = fetcher.apply(cursor);
+                        task.token.throwIfCancelled();
+                        task.offerWatermark(page.watermark());
+                        writeBatch(taskId, task, writer, dataClass, page.rows());
+                        cursor = page.nextCursor();
+                        hasNext = page.hasNext();
+                    } while (hasNext && writer.getRowCount() < config.checkpointRows());
+                    rows = writer.getRowCount();
+                }
+                if (rows > 0) {
+                    partUrl = upload(taskId, task, output, fileName);
+                }
+            }
+            checkpoint = checkpoint.next(cursor, partUrl, rows, task.maxWatermark(), !hasNext);
+            commitCheckpoint(task, checkpoint);
+            log.info("导出分段完成: taskId={}, segment={}, rows={}, totalRows={}", taskId,
+                    checkpoint.partUrls().size(), rows, checkpoint.rowCount());
+        }
+        reportProgress(taskId, task.progress.at(ProgressTracker.WRITE_PHASE_PERCENT));
+
+        List<String> parts = checkpoint.partUrls();
+        if (parts.isEmpty()) {
+            return noData(task);
+        }
+        task.token.throwIfCancelled();
+        reportProgress(taskId, task.progress.at(UPLOAD_PERCENT));
+        if (parts.size() == 1 && configured != CompressionMode.ZIP) {
+            return parts.get(0);
+        }
+
+        String fileName = checkpoint.fileBaseName() + ".zip";
+        try (ExportOutput output = openOutput(taskId, fileName)) {
+            try (ZipOutputStream zip = new ZipOutputStream(output.stream())) {
+                zip.setLevel(config.compressionLevel());
+                for (int i = 0; i < parts.size(); i++) {
+                    task.token.throwIfCancelled();
+                    String segmentName = segmentName(checkpoint.fileBaseName(), i + 1);
+                    zip.putNextEntry(new ZipEntry(OutputCompression.fileName(segmentName, format, compression)));
+                    try (InputStream part = fileStorageSpi.download(parts.get(i))) {
+                        part.transferTo(zip);
+                    }
+                    zip.closeEntry();
+                }
+            }
+            return upload(taskId, task, output, fileName);
+        }
+    }
+
+    /**
+     * 保存检查点
+     * <p>
+     * 与心跳互斥, 避免较早的检查点覆盖较新的检查点
+     */
+    private void commitCheckpoint(RunningTask task, ExportCheckpoint checkpoint) {
+        synchronized (task) {
+            task.checkpoint = checkpoint;
+            taskPersistenceSpi.saveCheckpoint(checkpoint);
+        }
+    }
+
+    /**
+     * 任务结束后删除检查点及不再需要的分段文件
+     *
+     * @param keepUrl 需要保留的文件 (单个分段即为最终文件时), 为 null 时删除全部分段
+     */
+    private void clearCheckpoint(String taskId, RunningTask task, String keepUrl) {
+        ExportCheckpoint checkpoint;
+        synchronized (task) {
+            checkpoint = task.checkpoint;
+            task.checkpoint = null;
+        }
+        if (checkpoint == null) {
+            return;
+        }
+        checkpoint.partUrls().stream()
+                .filter(partUrl -> !partUrl.equals(keepUrl))
+                .forEach(this::deleteQuietly);
+        taskPersistenceSpi.deleteCheckpoint(taskId);
+    }
+
+    private void deleteQuietly(String fileUrl) {
+        try {
+            fileStorageSpi.delete(fileUrl);
+        } catch (RuntimeException e) {
+            log.warn("删除分段文件失败: {}", fileUrl, e);
+        }
+    }
+
+    /**
+     * 将持久化后的参数快照 (如 JSON 反序列化得到的 Map) 转换为业务参数类型
+     */
+    private Object toParamType(Object params, Class<?> paramType) {
+        if (params == null || paramType == null || paramType.isInstance(params)) {
+            return params;
+        }
+        return objectMapper.convertValue(params, paramType);
+    }
+
+    private static String newFileBaseName(ExportConfig config) {
+        return config.bizType() + "_" + LocalDateTime.now().format(FILE_DATE_FORMAT);
+    }
+
+    private static String segmentName(String fileBaseName, int segmentNo) {
+        return fileBaseName + "_part" + segmentNo;
+    }
+
+    /**
+     * 没有可导出的数据
+     * <p>
+     * 增量导出自上次导出后无新增数据属于正常情况 (如定时同步), 任务成功且不生成文件; 否则视为失败
+     *
+     * @return null (增量导出无新增数据)
+     * @throws IllegalArgumentException 非增量导出的数据为空
+     */
+    private static String noData(RunningTask running) {
+        running.token.throwIfCancelled();
+        if (running.baseWatermark != null) {
+            return null;
+        }
+        throw new IllegalArgumentException("导出数据为空");
+    }
+
+    /**
+     * 保存本次导出的最大水位
+     */
+    private void saveWatermark(String taskId, ExportConfig config, RunningTask running, String fileUrl) {
+        String watermark = running.maxWatermark();
+        if (watermark == null) {
+            log.warn("数据提供者未返回水位, 下次仍从原水位导出: taskId={}, bizType={}", taskId, config.bizType());
+            return;
+        }
+        watermarkStore.save(running.userId, config.bizType(),
+                new ExportWatermark(watermark, fileUrl, LocalDateTime.now()));
+        log.info("增量导出水位更新: taskId={}, {} -> {}", taskId, running.baseWatermark, watermark);
+    }
+
+    /**
+     * 更新进度, 同步给共享该次执行的全部任务
+     */
+    private void reportProgress(String taskId, ExportProgress progress) {
+        for (String subscriber : resultCache.subscribers(taskId)) {
+            taskPersistenceSpi.updateProgress(subscriber, progress);
+        }
+    }
+
+    /**
+     * 累加已写入行数, 距上次上报超过上报间隔时上报写入阶段进度
+     */
+    private void onRowsWritten(String taskId, RunningTask task, List<?> rows) {
+        if (rows != null && task.progress.addRows(rows.size())) {
+            reportProgress(taskId, task.progress.writing());
+        }
+    }
+
+    /**
+     * 写入一批数据并累加已写入行数
+     */
+    private void writeBatch(String taskId, RunningTask task, ExportFileWriter writer, Class<?> dataClass,
+            List<?> rows) throws IOException {
+        long start = System.nanoTime();
+        ExportPhaseEvent event = ExportPhaseEvent.begin(task.bizType, taskId, ExportMetrics.Phase.RENDER);
+        writer.write(dataClass, rows);
+        metrics.phase(task.bizType, ExportMetrics.Phase.RENDER, System.nanoTime() - start);
+        event.finish(rows == null ? 0 : rows.size(), 0);
+        onRowsWritten(taskId, task, rows);
+    }
+
+    /**
+     * 上传导出输出, 记录上传耗时与文件大小
+     *
+     * @return 文件下载 URL
+     */
+    private String upload(String taskId, RunningTask task, ExportOutput output, String fileName)
+            throws IOException {
+        long start = System.nanoTime();
+        ExportPhaseEvent event = ExportPhaseEvent.begin(task.bizType, taskId, ExportMetrics.Phase.UPLOAD);
+        String fileUrl = output.upload(fileStorageSpi, fileName);
+        metrics.phase(task.bizType, ExportMetrics.Phase.UPLOAD, System.nanoTime() - start);
+        event.finish(0, output.size());
+        task.uploadedBytes += output.size();
+        return fileUrl;
+    }
+
+    /**
+     * 预估总行数, 用于计算进度百分比与剩余时间
+     * <p>
+     * 任一分片未知时总数未知; 预估失败不影响导出
+     */
+    private void estimateTotal(String taskId, ExportConfig config, ExportDataProviderSpi<Object> provider,
+            List<Object> shards, RunningTask task) {
+        long total = 0;
+        CancellationToken.Registration binding = task.token.bind();
+        try {
+            for (Object shardParams : shards) {
+                long estimate = provider.estimateTotal(shardParams, new ExportPageRequest(taskId, null,
+                        config.batchSize(), task.token, task.baseWatermark, config.watermarkKey(), task.progress,
+                        task.columns));
+                if (estimate < 0) {
+                    return;
+                }
+                total += estimate;
+            }
+        } catch (RuntimeException e) {
+            log.warn("预估导出总行数失败, 不计算进度百分比: taskId={}", taskId, e);
+            return;
+        } finally {
+            binding.close();
+        }
+        task.progress.estimateTotal(total);
+        log.debug("导出预估总行数: taskId={}, totalRows={}", taskId, total);
+    }
+
+    /**
+     * 打开导出输出
+     * <p>
+     * 优先使用分片上传 (存储支持时), 其次本地临时文件, 最后内存
+     */
+    private ExportOutput openOutput(String taskId, String fileName) throws IOException {
+        if (multipartEnabled && fileStorageSpi.supportsMultipartUpload()) {
+            return ExportOutput.multipart(fileStorageSpi.createMultipartUpload(fileName), multipartPartSize,
+                    scheduler.uploadExecutor());
+        }
+        return spoolEnabled ? ExportOutput.spool(spoolDir, taskId) : ExportOutput.inMemory();
+    }
+
+    /**
+     * 按分片键拆分参数
+     * <p>
+     * 未配置分片或数据提供者不支持分片时, 返回仅包含原参数的列表
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> splitShards(String taskId, ExportConfig config, Object bean, Object typedParams) {
+        if (!config.isSharded()) {
+            return List.of(typedParams);
+        }
+        if (!(bean instanceof ShardedDataProviderSpi<?> sharded)) {
+            log.warn("业务 Bean 未实现 ShardedDataProviderSpi, 忽略分片配置: bizType={}", config.bizType());
+            return List.of(typedParams);
+        }
+        List<Object> shards = ((ShardedDataProviderSpi<Object>) sharded).split(typedParams, config.shardKey(),
+                config.shardCount());
+        log.info("导出任务分片: taskId={}, shardKey={}, shards={}", taskId, config.shardKey(), shards.size());
+        return shards.isEmpty() ? List.of(typedParams) : shards;
+    }
+
+    /**
+     * 创建指定格式的文件写入器
+     * <p>
+     * XLSX 默认使用原生写入器, VO 不受支持时由其自动改用 EasyExcel; {@code flux-export.writer.engine=easyexcel}
+     * 时始终使用 EasyExcel
+     */
+    private ExportFileWriter openWriter(ExportFormat format, OutputStream outputStream, ExportConfig config,
+            RunningTask task) {
+        return switch (format) {
+            case XLSX -> nativeXlsx
+                    ? new XlsxStreamWriter(outputStream, sheetMaxRows, task.columns, xlsxCompressionLevel,
+                            new SharedStrings(sharedStringsMaxEntries, sharedStringsColumnCardinality,
+                                    config.sharedStringColumns()))
+                    : new ExcelBatchWriter(outputStream, sheetMaxRows, task.columns);
+            case CSV -> new CsvBatchWriter(outputStream, csvCharset, csvBom, task.columns);
+        };
+    }
+
+    /**
+     * 写入单个文件
+     */
+    private long writeWorkbook(String taskId, ExportInvoker invoker, Object bean, List<Object> shards,
+            ExportFormat format, RunningTask task, OutputStream outputStream) throws Exception {
+        try (ExportFileWriter writer = openWriter(format, outputStream, invoker.config(), task)) {
+            if (invoker.isDataProvider()) {
+                writePaged(taskId, invoker.config(), (ExportDataProviderSpi<?>) bean, shards, task, writer);
+            } else {
+                writeList(taskId, invoker, bean, shards.get(0), task, writer);
+            }
+            reportProgress(taskId, task.progress.at(ProgressTracker.WRITE_PHASE_PERCENT));
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * 按游标分批拉取并写入, 每批写入后即释放
+     * <p>
+     * 多个分片时各分片并行拉取, 汇入同一工作簿; 启用流水线时, 拉取与写入在不同线程上重叠执行
+     */
+    @SuppressWarnings("unchecked")
+    private void writePaged(String taskId, ExportConfig config, ExportDataProviderSpi<?> provider,
+            List<Object> shards, RunningTask task, ExportFileWriter writer) throws Exception {
+        ExportDataProviderSpi<Object> typedProvider = (ExportDataProviderSpi<Object>) provider;
+        List<Function<String, ExportPage>> fetchers = shards.stream()
+                .map(shardParams -> pageFetcher(taskId, config, typedProvider, shardParams, task))
+                .toList();
+
+        PageStream pages;
+        if (fetchers.size() > 1) {
+            pages = new PipelinedPageStream(fetchers, Math.max(pipelineQueueCapacity, fetchers.size()),
+                    memoryBudget, scheduler.fetchExecutor());
+        } else if (pipelineEnabled) {
+            pages = new PipelinedPageStream(fetchers.get(0), pipelineQueueCapacity, memoryBudget,
+                    scheduler.fetchExecutor());
+        } else {
+            pages = PageStream.sequential(fetchers.get(0));
+        }
+        try (pages) {
+            drain(taskId, pages, typedProvider.dataClass(), task, writer);
+        }
+    }
+
+    /**
+     * 各分片并行生成独立文件, 打包为 zip
+     */
+    @SuppressWarnings("unchecked")
+    private long writeShardParts(String taskId, ExportConfig config, ExportDataProviderSpi<?> provider,
+            List<Object> shards, ExportFormat format, RunningTask task, OutputStream outputStream)
+            throws Exception {
+        ExportDataProviderSpi<Object> typedProvider = (ExportDataProviderSpi<Object>) provider;
+        Class<?> dataClass = typedProvider.dataClass();
+        List<Path> parts = new ArrayList<>();
+        List<Future<Long>> futures = new ArrayList<>();
         try {
-            return clazz.getMethod(methodName, paramType);
-        } catch (NoSuchMethodException e) {
-            // 尝试查找父类方法
-            for (Method method : clazz.getMethods()) {
-                if (method.getName().equals(methodName) && method.getParameterCount() == 1) {
-                    if (method.getParameterTypes()[0].isAssignableFrom(paramType)) {
-                        return method;
+            Files.createDirectories(spoolDir);
+            for (int i = 0; i < shards.size(); i++) {
+                Path part = Files.createTempFile(spoolDir, "export_" + taskId + "_part" + (i + 1) + "_",
+                        format.extension());
+                parts.add(part);
+                Function<String, ExportPage> fetcher = pageFetcher(taskId, config, typedProvider, shards.get(i),
+                        task);
+                futures.add(scheduler.fetchExecutor()
+                        .submit(() -> writePart(taskId, config, fetcher, dataClass, format, task, part)));
+            }
+
+            long[] partRows = new long[parts.size()];
+            long rowCount = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                partRows[i] = await(futures.get(i));
+                rowCount += partRows[i];
+            }
+            reportProgress(taskId, task.progress.at(ProgressTracker.WRITE_PHASE_PERCENT));
+
+            try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+                zip.setLevel(config.compressionLevel());
+                int partNo = 0;
+                for (int i = 0; i < parts.size(); i++) {
+                    if (partRows[i] == 0) {
+                        continue;
                     }
+                    zip.putNextEntry(new ZipEntry(config.bizType() + "_part" + (++partNo) + format.extension()));
+                    Files.copy(parts.get(i), zip);
+                    zip.closeEntry();
                 }
             }
+            return rowCount;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            for (Path part : parts) {
+                try {
+                    Files.deleteIfExists(part);
+                } catch (IOException e) {
+                    log.warn("删除分片临时文件失败: {}", part, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 将单个分片写入独立文件
+     */
+    private long writePart(String taskId, ExportConfig config, Function<String, ExportPage> fetcher,
+            Class<?> dataClass, ExportFormat format, RunningTask task, Path part) throws Exception {
+        try (OutputStream partStream = new BufferedOutputStream(Files.newOutputStream(part));
+                ExportFileWriter writer = openWriter(format, partStream, config, task);
+                PageStream pages = PageStream.sequential(fetcher)) {
+            drain(taskId, pages, dataClass, task, writer);
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * 逐页写入数据流中的全部数据, 每批写入前检查任务是否已取消
+     */
+    private void drain(String taskId, PageStream pages, Class<?> dataClass, RunningTask task,
+            ExportFileWriter writer) throws Exception {
+        ExportPage page;
+        while ((page = pages.next()) != null) {
+            task.token.throwIfCancelled();
+            task.offerWatermark(page.watermark());
+            writeBatch(taskId, task, writer, dataClass, page.rows());
+            log.debug("导出批次写入: taskId={}, batchRows={}, totalRows={}", taskId,
+                    page.rows() == null ? 0 : page.rows().size(), writer.getRowCount());
+        }
+    }
+
+    /**
+     * 创建按游标拉取一页数据的函数
+     * <p>
+     * 拉取期间将取消令牌绑定到当前线程, 供数据访问层注册查询取消回调
+     */
+    private Function<String, ExportPage> pageFetcher(String taskId, ExportConfig config,
+            ExportDataProviderSpi<Object> provider, Object params, RunningTask task) {
+        return cursor -> {
+            task.token.throwIfCancelled();
+            long start = System.nanoTime();
+            ExportPhaseEvent event = ExportPhaseEvent.begin(task.bizType, taskId, ExportMetrics.Phase.QUERY);
+            ExportPage page = null;
+            CancellationToken.Registration binding = task.token.bind();
+            try {
+                page = provider.fetchPage(params, new ExportPageRequest(taskId, cursor, config.batchSize(), task.token,
+                        task.baseWatermark, config.watermarkKey(), task.progress, task.columns));
+                return page;
+            } finally {
+                binding.close();
+                metrics.phase(task.bizType, ExportMetrics.Phase.QUERY, System.nanoTime() - start);
+                event.finish(page == null || page.rows() == null ? 0 : page.rows().size(), 0);
+            }
+        };
+    }
+
+    /**
+     * 等待异步结果, 抛出原始异常
+     */
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
             throw e;
         }
     }
 
     /**
-     * 生成 Excel 文件
+     * 调用业务方法, 将返回的全部数据按批次大小分段写入 (便于上报进度与响应取消)
+     * <p>
+     * 估算大小超出任务内存预算时, 先将整批数据溢写到临时文件并释放引用, 再按批读回写入,
+     * 写入阶段 (通常远长于查询) 不再占用整批数据的堆内存
      */
-    private byte[] generateExcel(List<?> dataList) {
+    private void writeList(String taskId, ExportInvoker invoker, Object bean, Object typedParams,
+            RunningTask task, ExportFileWriter writer) throws Exception {
+        List<?> dataList = null;
+        long start = System.nanoTime();
+        ExportPhaseEvent event = ExportPhaseEvent.begin(task.bizType, taskId, ExportMetrics.Phase.QUERY);
+        CancellationToken.Registration binding = task.token.bind();
+        try {
+            dataList = invoker.invoke(bean, typedParams);
+        } finally {
+            binding.close();
+            metrics.phase(task.bizType, ExportMetrics.Phase.QUERY, System.nanoTime() - start);
+            event.finish(dataList == null ? 0 : dataList.size(), 0);
+        }
         if (dataList == null || dataList.isEmpty()) {
-            throw new IllegalArgumentException("导出数据为空");
+            return;
         }
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        task.progress.estimateTotal(dataList.size());
         Class<?> dataClass = dataList.get(0).getClass();
+        int batchSize = invoker.config().batchSize();
 
-        EasyExcel.write(outputStream, dataClass).sheet("Sheet1").doWrite(dataList);
+        RowSpillFile spill = null;
+        long estimatedBytes = RowMemoryEstimator.estimateBytes(dataList);
+        if (estimatedBytes > memoryBudget) {
+            spill = spillOrNull(taskId, dataList, task, batchSize, estimatedBytes);
+            if (spill != null) {
+                // 释放整批数据 (业务方未持有时即可回收)
+                dataList = null;
+            }
+        }
+        if (spill == null) {
+            for (int from = 0; from < dataList.size(); from += batchSize) {
+                task.token.throwIfCancelled();
+                List<?> batch = dataList.subList(from, Math.min(dataList.size(), from + batchSize));
+                writeBatch(taskId, task, writer, dataClass, batch);
+            }
+            return;
+        }
+        try (RowSpillFile spilled = spill) {
+            List<?> batch;
+            while (!(batch = spilled.read(spillMapper, dataClass, batchSize)).isEmpty()) {
+                task.token.throwIfCancelled();
+                writeBatch(taskId, task, writer, dataClass, batch);
+            }
+        }
+    }
 
-        return outputStream.toByteArray();
+    /**
+     * 将超出内存预算的整批数据溢写到临时文件
+     *
+     * @return 溢写文件, 未启用溢写或行对象无法按字段读写时返回 null (仍在内存中写入)
+     */
+    private RowSpillFile spillOrNull(String taskId, List<?> dataList, RunningTask task, int batchSize,
+            long estimatedBytes) {
+        if (!spillEnabled) {
+            log.warn("导出数据超出任务内存预算: taskId={}, rows={}, estimatedBytes={}, budget={}, "
+                    + "建议实现 ExportDataProviderSpi 分批拉取", taskId, dataList.size(), estimatedBytes, memoryBudget);
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            // 先用首行验证可按字段读回, 避免释放数据后才发现无法反序列化
+            Object first = dataList.get(0);
+            spillMapper.readValue(spillMapper.writeValueAsBytes(first), first.getClass());
+            RowSpillFile spill = RowSpillFile.write(spoolDir, "export_" + taskId + "_spill_", spillMapper, dataList,
+                    task.token, batchSize);
+            log.warn("导出数据超出任务内存预算, 已溢写到临时文件: taskId={}, rows={}, estimatedBytes={}, budget={}, "
+                    + "fileBytes={}, cost={}ms", taskId, dataList.size(), estimatedBytes, memoryBudget,
+                    spill.fileSize(), System.currentTimeMillis() - start);
+            return spill;
+        } catch (IOException | IllegalArgumentException e) {
+            // Jackson 的序列化异常为 IOException 子类
+            log.warn("导出数据溢写失败, 在内存中写入: taskId={}, rows={}, estimatedBytes={}", taskId, dataList.size(),
+                    estimatedBytes, e);
+            return null;
+        }
+    }
+
+    /**
+     * 排队中或执行中的任务句柄
+     */
+    private static final class RunningTask {
+
+        private final String bizType;
+        private final String userId;
+        /** 导出列 (VO 字段名), 为空时导出全部列 */
+        private final List<String> columns;
+        private final CancellationToken token = new CancellationToken();
+        /** 任务记录创建后放行; 放行前已占用调度队列位置, 但不会开始执行 */
+        private final CountDownLatch admission = new CountDownLatch(1);
+        private volatile Future<?> future;
+        private boolean started;
+        /** 增量导出的起始水位 */
+        private volatile String baseWatermark;
+        /** 已写入数据的最大水位 (分片并行写入时由多个线程更新) */
+        private String maxWatermark;
+        /** 断点续传的最新检查点, 未启用时为 null */
+        private volatile ExportCheckpoint checkpoint;
+        /** 进度统计, 开始执行时创建 */
+        private volatile ProgressTracker progress;
+        /** 是否从外部队列领取 (需续约) */
+        private volatile boolean leased;
+        /** 租约已失效, 停止执行且不再更新任务状态 */
+        private volatile boolean abandoned;
+        /** 提交时间 ({@link System#nanoTime()}), 用于统计排队耗时 */
+        private long submitNanos = System.nanoTime();
+        /** 从检查点恢复时已写入的行数 */
+        private long resumedRows;
+        /** 已上传的字节数 (含分段) */
+        private long uploadedBytes;
+
+        private RunningTask(String bizType, String userId, List<String> columns) {
+            this.bizType = bizType;
+            this.userId = userId;
+            this.columns = columns;
+        }
+
+        void admit() {
+            admission.countDown();
+        }
+
+        void awaitAdmission() throws InterruptedException {
+            admission.await();
+        }
+
+        /**
+         * 标记开始执行
+         *
+         * @return 排队期间已被取消时返回 false
+         */
+        synchronized boolean start() {
+            if (token.isCancelled()) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        /**
+         * 取消任务
+         *
+         * @return 首次取消且任务尚未开始执行时返回 true
+         */
+        synchronized boolean cancel() {
+            return token.cancel() && !started;
+        }
+
+        synchronized void offerWatermark(String watermark) {
+            maxWatermark = ExportWatermark.max(maxWatermark, watermark);
+        }
+
+        synchronized String maxWatermark() {
+            return maxWatermark;
+        }
     }
-}
\ No newline at end of file
+}
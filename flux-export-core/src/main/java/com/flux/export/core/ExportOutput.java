@@ -0,0 +1,166 @@
+package com.flux.export.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flux.export.spi.FileStorageSpi;
+import com.flux.export.spi.MultipartUpload;
+
+/**
+ * 导出文件的输出目标
+ * <p>
+ * 支持三种模式:
+ * <ul>
+ * <li>内存模式: 写入 {@link ByteArrayOutputStream}, 适合小文件</li>
+ * <li>落盘模式: 直接写入本地临时文件 (spool), 大文件不再占用堆内存, 压力转移到 page cache</li>
+ * <li>分片模式: 边生成边分片上传, 上传耗时与生成耗时重叠</li>
+ * </ul>
+ * 关闭时删除临时文件 (或放弃未完成的分片上传), 无论上传成功还是失败
+ */
+class ExportOutput implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportOutput.class);
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private final Path spoolFile;
+    private final ByteArrayOutputStream memory;
+    private final MultipartUpload multipartUpload;
+    private final OutputStream stream;
+    private final MultipartUploadOutputStream multipartStream;
+    private boolean uploaded;
+    /** 已上传的文件大小 (字节) */
+    private long size;
+
+    private ExportOutput(Path spoolFile, ByteArrayOutputStream memory, MultipartUpload multipartUpload,
+            OutputStream stream) {
+        this.spoolFile = spoolFile;
+        this.memory = memory;
+        this.multipartUpload = multipartUpload;
+        this.stream = stream;
+        this.multipartStream = stream instanceof MultipartUploadOutputStream m ? m : null;
+    }
+
+    /**
+     * 创建内存输出
+     */
+    static ExportOutput inMemory() {
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        return new ExportOutput(null, memory, null, memory);
+    }
+
+    /**
+     * 在指定目录下创建落盘输出
+     *
+     * @param spoolDir 临时文件目录
+     * @param taskId   任务 ID (用于临时文件命名)
+     */
+    static ExportOutput spool(Path spoolDir, String taskId) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path file = Files.createTempFile(spoolDir, "export_" + taskId + "_", ".spool");
+        OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), SPOOL_BUFFER_SIZE);
+        return new ExportOutput(file, null, null, stream);
+    }
+
+    /**
+     * 创建分片上传输出
+     *
+     * @param upload         分片上传会话
+     * @param partSize       分片大小 (字节)
+     * @param uploadExecutor 分片上传线程池
+     */
+    static ExportOutput multipart(MultipartUpload upload, int partSize, Executor uploadExecutor) {
+        OutputStream stream = new MultipartUploadOutputStream(upload, partSize, uploadExecutor);
+        return new ExportOutput(null, null, upload, stream);
+    }
+
+    /**
+     * 写入目标流
+     */
+    OutputStream stream() {
+        return stream;
+    }
+
+    /**
+     * 是否为落盘模式
+     */
+    boolean isSpooled() {
+        return spoolFile != null;
+    }
+
+    /**
+     * 临时文件路径 (仅落盘模式)
+     */
+    Path spoolFile() {
+        return spoolFile;
+    }
+
+    /**
+     * 上传文件
+     * <p>
+     * 分片模式下完成分片合并; 落盘模式下流式上传临时文件; 内存模式下上传字节数组
+     *
+     * @param storage  文件存储
+     * @param fileName 文件名
+     * @return 文件下载 URL
+     */
+    String upload(FileStorageSpi storage, String fileName) throws IOException {
+        stream.close();
+        String fileUrl;
+        if (multipartUpload != null) {
+            fileUrl = multipartUpload.complete();
+            size = multipartStream.size();
+        } else if (isSpooled()) {
+            fileUrl = storage.upload(fileName, spoolFile);
+            size = Files.size(spoolFile);
+        } else {
+            fileUrl = storage.upload(fileName, memory.toByteArray());
+            size = memory.size();
+        }
+        uploaded = true;
+        return fileUrl;
+    }
+
+    /**
+     * 已上传的文件大小 (字节), 上传前为 0
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * 关闭输出, 删除临时文件或放弃未完成的分片上传
+     */
+    @Override
+    public void close() {
+        if (multipartStream != null && !uploaded) {
+            multipartStream.discard();
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.warn("关闭导出输出流失败", e);
+        }
+        if (multipartUpload != null && !uploaded) {
+            try {
+                multipartUpload.abort();
+            } catch (RuntimeException e) {
+                log.warn("放弃分片上传失败", e);
+            }
+        }
+        if (spoolFile != null) {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                log.warn("删除临时文件失败: {}", spoolFile, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.flux.export.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 导出阶段的 JFR 事件
+ * <p>
+ * 每次查询 (拉取一页或调用业务方法)、每批写入、每次上传各为一个持续事件, 阶段与
+ * {@link ExportMetrics.Phase} 一致。拉取在预取线程上执行时, 事件记录在预取线程上
+ */
+@Name("com.flux.export.Phase")
+@Label("Export Phase")
+@Category({ "Flux Export" })
+@Description("导出任务的查询、写入或上传阶段")
+@StackTrace(false)
+final class ExportPhaseEvent extends jdk.jfr.Event {
+
+    /** 未启用时 {@link #begin} 返回的空事件, 从不提交 */
+    private static final ExportPhaseEvent DISABLED = new ExportPhaseEvent();
+
+    /** 各阶段的名称 (按 {@link ExportMetrics.Phase} 的顺序) */
+    private static final String[] PHASE_NAMES = Arrays.stream(ExportMetrics.Phase.values())
+            .map(phase -> phase.name().toLowerCase(Locale.ROOT))
+            .toArray(String[]::new);
+
+    @Label("Biz Type")
+    String bizType;
+
+    @Label("Task Id")
+    String taskId;
+
+    @Label("Phase")
+    @Description("query / render / upload")
+    String phase;
+
+    @Label("Rows")
+    @Description("查询或写入的行数")
+    long rows;
+
+    @Label("Bytes")
+    @Description("上传的字节数")
+    @DataAmount
+    long bytes;
+
+    /**
+     * 开始计时
+     * <p>
+     * 事件未启用 (未开启录制或被禁用) 时返回共用的空事件, 不创建对象也不填充字段
+     */
+    static ExportPhaseEvent begin(String bizType, String taskId, ExportMetrics.Phase phase) {
+        if (!DISABLED.isEnabled()) {
+            return DISABLED;
+        }
+        ExportPhaseEvent event = new ExportPhaseEvent();
+        event.bizType = bizType;
+        event.taskId = taskId;
+        event.phase = PHASE_NAMES[phase.ordinal()];
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时并提交
+     */
+    void finish(long rows, long bytes) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.flux.export.core;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flux.export.model.ExportTask;
+import com.flux.export.spi.TaskQueueSpi;
+
+/**
+ * 外部共享队列的领取与续约
+ * <p>
+ * 仅在 {@code flux-export.queue.mode=external} 时生效, 应用启动后按固定间隔执行:
+ * <ol>
+ * <li>按本节点空闲线程数从 {@link TaskQueueSpi} 领取任务并执行</li>
+ * <li>为本节点执行中的任务续约, 失去租约的任务 (已取消或已被其他节点接管) 停止执行</li>
+ * </ol>
+ * 配置项 ({@code flux-export.queue.*}):
+ * <ul>
+ * <li>{@code mode}: {@code local} (默认, 本节点内存排队) 或 {@code external}</li>
+ * <li>{@code worker-id}: 节点标识, 默认 "进程号@主机名"</li>
+ * <li>{@code poll-interval-ms}: 领取间隔, 默认 1000 毫秒</li>
+ * <li>{@code lease-seconds}: 租约时长, 默认 60 秒, 每 1/3 租约时长续约一次</li>
+ * </ul>
+ */
+@Component
+public class ExportQueueWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportQueueWorker.class);
+
+    /** 外部队列模式 */
+    static final String MODE_EXTERNAL = "external";
+
+    private final ExportOrchestrator orchestrator;
+    private final ExportScheduler scheduler;
+    private final TaskQueueSpi taskQueueSpi;
+    private final String workerId;
+    private final long pollIntervalMillis;
+    private final Duration leaseDuration;
+
+    public ExportQueueWorker(ExportOrchestrator orchestrator, ExportScheduler scheduler,
+            ObjectProvider<TaskQueueSpi> taskQueueSpi,
+            @Value("${flux-export.queue.worker-id:}") String workerId,
+            @Value("${flux-export.queue.poll-interval-ms:1000}") long pollIntervalMillis,
+            @Value("${flux-export.queue.lease-seconds:60}") long leaseSeconds) {
+        this.orchestrator = orchestrator;
+        this.scheduler = scheduler;
+        this.taskQueueSpi = taskQueueSpi.getIfAvailable();
+        if (orchestrator.isQueueMode() && this.taskQueueSpi == null) {
+            throw new IllegalStateException("flux-export.queue.mode=external 需要提供 TaskQueueSpi 实现");
+        }
+        this.workerId = workerId == null || workerId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : workerId;
+        this.pollIntervalMillis = Math.max(100, pollIntervalMillis);
+        this.leaseDuration = Duration.ofSeconds(Math.max(3, leaseSeconds));
+    }
+
+    /**
+     * 应用启动完成后开始领取与续约
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!orchestrator.isQueueMode()) {
+            return;
+        }
+        scheduler.scheduleMaintenance(this::poll, pollIntervalMillis);
+        scheduler.scheduleMaintenance(this::renewLeases, leaseDuration.toMillis() / 3);
+        log.info("外部队列领取已启动: workerId={}, pollInterval={}ms, lease={}", workerId, pollIntervalMillis,
+                leaseDuration);
+    }
+
+    /**
+     * 按空闲线程数领取任务
+     *
+     * @return 本次开始执行的任务数
+     */
+    public int poll() {
+        int idle = scheduler.getPoolSize() - scheduler.getActiveCount() - scheduler.getQueueDepth();
+        if (idle <= 0) {
+            return 0;
+        }
+        List<ExportTask> claimed = taskQueueSpi.claim(workerId, idle, leaseDuration);
+        int started = 0;
+        for (ExportTask task : claimed) {
+            if (orchestrator.runClaimed(task)) {
+                started++;
+            }
+        }
+        return started;
+    }
+
+    /**
+     * 为执行中的任务续约, 放弃已失去租约的任务
+     */
+    public void renewLeases() {
+        Set<String> taskIds = orchestrator.leasedTaskIds();
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        for (String lost : taskQueueSpi.renew(workerId, taskIds, leaseDuration)) {
+            orchestrator.abandon(lost);
+        }
+    }
+
+    /**
+     * 节点标识
+     */
+    public String getWorkerId() {
+        return workerId;
+    }
+}
@@ -0,0 +1,194 @@
+package com.flux.export.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flux.export.config.ExportFormat;
+
+/**
+ * 导出结果复用
+ * <p>
+ * 以 "业务类型 + 文件格式 + 参数规范化哈希" 为键:
+ * <ul>
+ * <li>单飞 (single-flight): 相同键的导出执行中时, 后提交的任务作为订阅者挂到同一次执行上,
+ * 进度与结果同步给全部订阅者, 每个任务仍有独立的任务记录</li>
+ * <li>结果缓存: 执行成功后在 TTL 内, 相同键的新任务直接复用文件地址</li>
+ * </ul>
+ * 未参与复用的任务视为只有自己一个订阅者, 调用方可统一按订阅者更新状态
+ */
+final class ExportResultCache {
+
+    private final ObjectMapper canonicalMapper;
+
+    /** 执行中的导出: 缓存键 -> 执行 */
+    private final Map<String, Flight> flightsByKey = new HashMap<>();
+    /** 执行中的导出: 执行任务 ID -> 执行 */
+    private final Map<String, Flight> flightsByRunner = new HashMap<>();
+    /** 订阅者任务 ID -> 执行 */
+    private final Map<String, Flight> flightsBySubscriber = new HashMap<>();
+    /** 已完成的结果: 缓存键 -> 文件地址 */
+    private final Map<String, CachedResult> results = new HashMap<>();
+
+    ExportResultCache(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy()
+                .setConfig(objectMapper.getSerializationConfig()
+                        .with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                        .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+    }
+
+    /**
+     * 计算缓存键
+     * <p>
+     * 参数按属性名排序序列化为 JSON 后取 SHA-256, 属性声明顺序或 Map 插入顺序不影响结果;
+     * 导出列不同 (含顺序) 的导出不互相复用
+     */
+    String key(String bizType, ExportFormat format, List<String> columns, Object params) {
+        try {
+            byte[] json = canonicalMapper.writeValueAsString(params).getBytes(StandardCharsets.UTF_8);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String projection = columns.isEmpty() ? "*" : String.join(",", columns);
+            return bizType + ":" + format + ":" + projection + ":" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("无法计算导出参数哈希: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 加入导出
+     *
+     * @param key    缓存键
+     * @param taskId 新任务 ID
+     * @return 命中的缓存结果、挂靠的执行, 或需要新执行
+     */
+    synchronized Join join(String key, String taskId) {
+        CachedResult cached = results.get(key);
+        if (cached != null) {
+            if (System.nanoTime() - cached.expiresAt < 0) {
+                return new Join(JoinType.CACHED, cached.fileUrl);
+            }
+            results.remove(key);
+        }
+        Flight flight = flightsByKey.get(key);
+        if (flight != null) {
+            flight.subscribers.add(taskId);
+            flightsBySubscriber.put(taskId, flight);
+            return new Join(JoinType.ATTACHED, null);
+        }
+        flight = new Flight(key, taskId);
+        flightsByKey.put(key, flight);
+        flightsByRunner.put(taskId, flight);
+        flightsBySubscriber.put(taskId, flight);
+        return new Join(JoinType.RUN, null);
+    }
+
+    /**
+     * 执行的当前订阅者
+     *
+     * @param runnerTaskId 执行任务 ID
+     */
+    synchronized List<String> subscribers(String runnerTaskId) {
+        Flight flight = flightsByRunner.get(runnerTaskId);
+        return flight == null ? List.of(runnerTaskId) : List.copyOf(flight.subscribers);
+    }
+
+    /**
+     * 执行结束, 返回需要同步结果的订阅者
+     *
+     * @param runnerTaskId 执行任务 ID
+     * @param fileUrl      文件地址, 失败或取消时为 null
+     * @param ttl          结果有效期, 为 null 时不缓存
+     */
+    synchronized List<String> complete(String runnerTaskId, String fileUrl, Duration ttl) {
+        Flight flight = flightsByRunner.remove(runnerTaskId);
+        if (flight == null) {
+            return List.of(runnerTaskId);
+        }
+        flightsByKey.remove(flight.key, flight);
+        flight.subscribers.forEach(flightsBySubscriber::remove);
+        if (fileUrl != null && ttl != null && !flight.abandoned) {
+            evictExpired();
+            results.put(flight.key, new CachedResult(fileUrl, System.nanoTime() + ttl.toNanos()));
+        }
+        return new ArrayList<>(flight.subscribers);
+    }
+
+    /**
+     * 订阅者取消
+     * <p>
+     * 仍有其他订阅者时仅移除该订阅者; 该任务是唯一订阅者时执行需要终止, 此后不再接受新的订阅者,
+     * 该任务保留在订阅者中, 由执行结束时统一更新状态
+     *
+     * @param taskId 任务 ID
+     * @return 需要终止的执行任务 ID (未参与复用时为任务自身); 仍有其他订阅者时为 null
+     */
+    synchronized String detach(String taskId) {
+        Flight flight = flightsBySubscriber.get(taskId);
+        if (flight == null) {
+            return taskId;
+        }
+        if (flight.subscribers.size() > 1) {
+            flight.subscribers.remove(taskId);
+            flightsBySubscriber.remove(taskId);
+            return null;
+        }
+        flight.abandoned = true;
+        flightsByKey.remove(flight.key, flight);
+        return flight.runnerTaskId;
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        results.values().removeIf(result -> now - result.expiresAt >= 0);
+    }
+
+    /**
+     * 加入结果类型
+     */
+    enum JoinType {
+        /** 命中缓存, 直接复用文件地址 */
+        CACHED,
+        /** 挂到执行中的相同导出上 */
+        ATTACHED,
+        /** 需要新执行 */
+        RUN
+    }
+
+    /**
+     * 加入结果
+     *
+     * @param type    加入结果类型
+     * @param fileUrl 命中缓存时的文件地址
+     */
+    record Join(JoinType type, String fileUrl) {
+    }
+
+    private record CachedResult(String fileUrl, long expiresAt) {
+    }
+
+    private static final class Flight {
+
+        private final String key;
+        private final String runnerTaskId;
+        private final Set<String> subscribers = new LinkedHashSet<>();
+        private boolean abandoned;
+
+        private Flight(String key, String runnerTaskId) {
+            this.key = key;
+            this.runnerTaskId = runnerTaskId;
+            subscribers.add(runnerTaskId);
+        }
+    }
+}
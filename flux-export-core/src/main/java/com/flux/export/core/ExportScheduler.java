@@ -0,0 +1,265 @@
+package com.flux.export.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 导出任务调度器
+ * <p>
+ * 管理导出相关的全部线程池:
+ * <ul>
+ * <li>任务池: 固定线程数, 有界优先级队列 (优先级高者先执行, 同优先级先进先出), 队列满时拒绝提交</li>
+ * <li>拉取池: 流水线预取与分片拉取线程, 线程数有上限, 超出时排队等待 (避免并发查询耗尽数据库连接池)</li>
+ * <li>上传池: 分片上传线程, 线程数有上限, 超出时排队等待</li>
+ * <li>维护线程: 检查点心跳与失联任务恢复等周期性任务</li>
+ * </ul>
+ * 配置项 ({@code flux-export.executor.*}):
+ * <ul>
+ * <li>{@code pool-size}: 任务线程数, 默认为 CPU 核数</li>
+ * <li>{@code queue-capacity}: 等待队列容量, 默认 500</li>
+ * <li>{@code thread-name-prefix}: 任务线程名前缀, 默认 {@code flux-export-worker-}</li>
+ * <li>{@code fetch-pool-size}: 拉取线程数上限, 默认与任务线程数相同</li>
+ * <li>{@code upload-pool-size}: 上传线程数上限, 默认与任务线程数相同</li>
+ * </ul>
+ * 拉取池与上传池的排队数不设上限: 每个任务最多提交分片数个拉取与一个上传, 排队数受任务线程数约束,
+ * 拒绝提交只会让执行中的任务失败
+ */
+@Component
+public class ExportScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportScheduler.class);
+
+    private final ThreadPoolExecutor taskExecutor;
+    private final ThreadPoolExecutor fetchExecutor;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final ScheduledExecutorService maintenanceExecutor;
+    private final int queueCapacity;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ExportScheduler(
+            @Value("${flux-export.executor.pool-size:0}") int poolSize,
+            @Value("${flux-export.executor.queue-capacity:500}") int queueCapacity,
+            @Value("${flux-export.executor.thread-name-prefix:flux-export-worker-}") String threadNamePrefix,
+            @Value("${flux-export.executor.fetch-pool-size:0}") int fetchPoolSize,
+            @Value("${flux-export.executor.upload-pool-size:0}") int uploadPoolSize) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.taskExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new BoundedPriorityQueue(this.queueCapacity), new CustomizableThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.fetchExecutor = boundedPool(fetchPoolSize > 0 ? fetchPoolSize : threads, "flux-export-fetch-");
+        this.uploadExecutor = boundedPool(uploadPoolSize > 0 ? uploadPoolSize : threads, "flux-export-upload-");
+        CustomizableThreadFactory maintenanceThreads = new CustomizableThreadFactory("flux-export-maintenance-");
+        maintenanceThreads.setDaemon(true);
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(maintenanceThreads);
+        log.info("导出调度器已启动: poolSize={}, queueCapacity={}, fetchPoolSize={}, uploadPoolSize={}", threads,
+                this.queueCapacity, fetchExecutor.getMaximumPoolSize(), uploadExecutor.getMaximumPoolSize());
+    }
+
+    /**
+     * 固定线程数上限的线程池, 空闲线程超时后退出
+     */
+    private static ThreadPoolExecutor boundedPool(int threads, String threadNamePrefix) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 提交导出任务
+     *
+     * @param priority 优先级, 数值越大越先执行
+     * @param task     任务
+     * @return 任务句柄
+     * @throws RejectedExecutionException 等待队列已满
+     */
+    public Future<?> submit(int priority, Runnable task) {
+        PrioritizedTask prioritized = new PrioritizedTask(task, priority, sequence.incrementAndGet());
+        taskExecutor.execute(prioritized);
+        return prioritized;
+    }
+
+    /**
+     * 取消尚未开始执行的任务并移出等待队列
+     */
+    void cancel(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable runnable) {
+            taskExecutor.remove(runnable);
+        }
+    }
+
+    /**
+     * 当前排队中的任务数
+     */
+    public int getQueueDepth() {
+        return taskExecutor.getQueue().size();
+    }
+
+    /**
+     * 等待队列容量
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return taskExecutor.getActiveCount();
+    }
+
+    /**
+     * 任务线程数
+     */
+    public int getPoolSize() {
+        return taskExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * 排队等待拉取线程的拉取数
+     */
+    public int getFetchQueueDepth() {
+        return fetchExecutor.getQueue().size();
+    }
+
+    /**
+     * 正在执行的拉取数
+     */
+    public int getFetchActiveCount() {
+        return fetchExecutor.getActiveCount();
+    }
+
+    /**
+     * 拉取线程数上限
+     */
+    public int getFetchPoolSize() {
+        return fetchExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * 排队等待上传线程的分片数
+     */
+    public int getUploadQueueDepth() {
+        return uploadExecutor.getQueue().size();
+    }
+
+    /**
+     * 正在上传的分片数
+     */
+    public int getUploadActiveCount() {
+        return uploadExecutor.getActiveCount();
+    }
+
+    /**
+     * 上传线程数上限
+     */
+    public int getUploadPoolSize() {
+        return uploadExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * 流水线预取与分片拉取线程池
+     */
+    ExecutorService fetchExecutor() {
+        return fetchExecutor;
+    }
+
+    /**
+     * 分片上传线程池
+     */
+    ExecutorService uploadExecutor() {
+        return uploadExecutor;
+    }
+
+    /**
+     * 以固定间隔执行周期性维护任务
+     * <p>
+     * 单次执行抛出的异常会被记录, 不影响后续执行
+     *
+     * @param task     维护任务
+     * @param interval 执行间隔 (毫秒)
+     */
+    ScheduledFuture<?> scheduleMaintenance(Runnable task, long interval) {
+        return maintenanceExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("导出维护任务执行失败", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenanceExecutor.shutdownNow();
+        taskExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+        uploadExecutor.shutdownNow();
+    }
+
+    /**
+     * 带优先级的任务: 优先级高者先执行, 同优先级按提交顺序执行
+     */
+    private static class PrioritizedTask extends FutureTask<Void> implements Comparable<PrioritizedTask> {
+
+        private final int priority;
+        private final long sequence;
+
+        PrioritizedTask(Runnable task, int priority, long sequence) {
+            super(task, null);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = Integer.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * 有界优先级队列: 超过容量时 {@link #offer} 返回 false, 由线程池拒绝提交
+     */
+    private static class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        BoundedPriorityQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized boolean offer(Runnable task) {
+            return size() < capacity && super.offer(task);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Math.max(0, capacity - size());
+        }
+    }
+}
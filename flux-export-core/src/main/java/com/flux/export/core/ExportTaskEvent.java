@@ -0,0 +1,76 @@
+package com.flux.export.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 导出任务执行的 JFR 事件
+ * <p>
+ * 从开始执行到结束 (成功、失败、取消或放弃) 为一个持续事件, 与 GC、内存分配、Socket 等事件位于同一时间线。
+ * 未开启 JFR 录制或该事件被禁用时不产生开销
+ */
+@Name("com.flux.export.Task")
+@Label("Export Task")
+@Category({ "Flux Export" })
+@Description("导出任务从开始执行到结束")
+@StackTrace(false)
+final class ExportTaskEvent extends jdk.jfr.Event {
+
+    /** 未启用时 {@link #begin} 返回的空事件, 从不提交 */
+    private static final ExportTaskEvent DISABLED = new ExportTaskEvent();
+
+    @Label("Biz Type")
+    String bizType;
+
+    @Label("Task Id")
+    String taskId;
+
+    @Label("Status")
+    @Description("success / failed / cancelled / abandoned / interrupted")
+    String status;
+
+    @Label("Rows")
+    @Description("本次执行写入的行数")
+    long rows;
+
+    @Label("Bytes")
+    @Description("上传的字节数")
+    @DataAmount
+    long bytes;
+
+    /**
+     * 开始计时
+     * <p>
+     * 事件未启用 (未开启录制或被禁用) 时返回共用的空事件, 不创建对象也不填充字段
+     */
+    static ExportTaskEvent begin(String bizType, String taskId) {
+        if (!DISABLED.isEnabled()) {
+            return DISABLED;
+        }
+        ExportTaskEvent event = new ExportTaskEvent();
+        event.bizType = bizType;
+        event.taskId = taskId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时并提交
+     */
+    void finish(String status, long rows, long bytes) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.rows = rows;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.flux.export.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 基于 Micrometer 的导出指标
+ * <p>
+ * 类路径上存在 Micrometer 时生效, 注册到容器中的 {@link MeterRegistry} (如 Spring Boot Actuator 提供的),
+ * 不存在时注册到 {@link Metrics#globalRegistry}。设置 {@code flux-export.metrics.enabled=false} 可关闭。
+ * <p>
+ * 指标 (任务相关指标带 {@code bizType} 标签):
+ * <ul>
+ * <li>{@code flux.export.queue.depth} / {@code flux.export.queue.capacity}: 排队中的任务数 / 等待队列容量</li>
+ * <li>{@code flux.export.workers.active} / {@code flux.export.workers.max}: 执行中的任务数 / 任务线程数</li>
+ * <li>{@code flux.export.fetch.queue.depth} / {@code flux.export.fetch.active} / {@code flux.export.fetch.max}:
+ * 拉取池的排队数 / 执行中的拉取数 / 线程数上限 (上传池同理, 前缀为 {@code flux.export.upload.})</li>
+ * <li>{@code flux.export.tasks.submitted|succeeded|failed|cancelled}: 任务计数</li>
+ * <li>{@code flux.export.tasks.rejected}: 被拒绝的导出请求 ({@code reason} 标签)</li>
+ * <li>{@code flux.export.task.wait}: 从提交到开始执行的耗时</li>
+ * <li>{@code flux.export.task.duration}: 成功执行的耗时</li>
+ * <li>{@code flux.export.phase}: 查询 / 写入 / 上传各阶段耗时 ({@code phase} 标签), 用于判断慢导出的瓶颈
+ * 在数据库还是在 CPU</li>
+ * <li>{@code flux.export.rows} / {@code flux.export.bytes}: 写入的行数 / 上传的字节数</li>
+ * <li>{@code flux.export.throughput}: 每次执行的写入速度 (行/秒)</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(name = "flux-export.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MicrometerExportMetrics implements ExportMetrics {
+
+    private static final String PREFIX = "flux.export.";
+    private static final String TAG_BIZ_TYPE = "bizType";
+
+    private final MeterRegistry registry;
+    /** 各业务类型的指标 (业务类型来自注册的配置, 数量有限) */
+    private final Map<String, BizMeters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerExportMetrics(ObjectProvider<MeterRegistry> registry, ExportScheduler scheduler) {
+        this.registry = registry.getIfUnique(() -> Metrics.globalRegistry);
+        Gauge.builder(PREFIX + "queue.depth", scheduler, ExportScheduler::getQueueDepth)
+                .description("排队中的导出任务数").register(this.registry);
+        Gauge.builder(PREFIX + "queue.capacity", scheduler, ExportScheduler::getQueueCapacity)
+                .description("导出任务等待队列容量").register(this.registry);
+        Gauge.builder(PREFIX + "workers.active", scheduler, ExportScheduler::getActiveCount)
+                .description("执行中的导出任务数").register(this.registry);
+        Gauge.builder(PREFIX + "workers.max", scheduler, ExportScheduler::getPoolSize)
+                .description("导出任务线程数").register(this.registry);
+        Gauge.builder(PREFIX + "fetch.queue.depth", scheduler, ExportScheduler::getFetchQueueDepth)
+                .description("排队等待拉取线程的拉取数").register(this.registry);
+        Gauge.builder(PREFIX + "fetch.active", scheduler, ExportScheduler::getFetchActiveCount)
+                .description("正在执行的拉取数").register(this.registry);
+        Gauge.builder(PREFIX + "fetch.max", scheduler, ExportScheduler::getFetchPoolSize)
+                .description("拉取线程数上限").register(this.registry);
+        Gauge.builder(PREFIX + "upload.queue.depth", scheduler, ExportScheduler::getUploadQueueDepth)
+                .description("排队等待上传线程的分片数").register(this.registry);
+        Gauge.builder(PREFIX + "upload.active", scheduler, ExportScheduler::getUploadActiveCount)
+                .description("正在上传的分片数").register(this.registry);
+        Gauge.builder(PREFIX + "upload.max", scheduler, ExportScheduler::getUploadPoolSize)
+                .description("上传线程数上限").register(this.registry);
+    }
+
+    @Override
+    public void submitted(String bizType) {
+        meters(bizType).submitted().increment();
+    }
+
+    @Override
+    public void rejected(String bizType, String reason) {
+        Counter.builder(PREFIX + "tasks.rejected")
+                .description("被拒绝的导出请求数")
+                .tag(TAG_BIZ_TYPE, bizType)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void started(String bizType, long waitNanos) {
+        meters(bizType).queueWait().record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void phase(String bizType, Phase phase, long nanos) {
+        BizMeters biz = meters(bizType);
+        Timer timer = switch (phase) {
+            case QUERY -> biz.query();
+            case RENDER -> biz.render();
+            case UPLOAD -> biz.upload();
+        };
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void completed(String bizType, long rows, long bytes, long durationNanos) {
+        BizMeters biz = meters(bizType);
+        biz.duration().record(durationNanos, TimeUnit.NANOSECONDS);
+        biz.rows().increment(rows);
+        biz.bytes().increment(bytes);
+        if (durationNanos > 0) {
+            biz.throughput().record(rows * 1e9 / durationNanos);
+        }
+    }
+
+    @Override
+    public void succeeded(String bizType) {
+        meters(bizType).succeeded().increment();
+    }
+
+    @Override
+    public void failed(String bizType) {
+        meters(bizType).failed().increment();
+    }
+
+    @Override
+    public void cancelled(String bizType) {
+        meters(bizType).cancelled().increment();
+    }
+
+    private BizMeters meters(String bizType) {
+        return meters.computeIfAbsent(bizType, this::register);
+    }
+
+    private BizMeters register(String bizType) {
+        return new BizMeters(
+                counter("tasks.submitted", "提交的导出任务数", bizType),
+                counter("tasks.succeeded", "成功的导出任务数", bizType),
+                counter("tasks.failed", "失败的导出任务数", bizType),
+                counter("tasks.cancelled", "取消的导出任务数", bizType),
+                Timer.builder(PREFIX + "task.wait").description("导出任务从提交到开始执行的耗时")
+                        .tag(TAG_BIZ_TYPE, bizType).register(registry),
+                Timer.builder(PREFIX + "task.duration").description("导出任务执行耗时")
+                        .tag(TAG_BIZ_TYPE, bizType).register(registry),
+                phaseTimer(bizType, "query"),
+                phaseTimer(bizType, "render"),
+                phaseTimer(bizType, "upload"),
+                Counter.builder(PREFIX + "rows").description("导出写入的行数").baseUnit("rows")
+                        .tag(TAG_BIZ_TYPE, bizType).register(registry),
+                Counter.builder(PREFIX + "bytes").description("导出文件上传的字节数").baseUnit("bytes")
+                        .tag(TAG_BIZ_TYPE, bizType).register(registry),
+                DistributionSummary.builder(PREFIX + "throughput").description("导出写入速度")
+                        .baseUnit("rows/s").tag(TAG_BIZ_TYPE, bizType).register(registry));
+    }
+
+    private Counter counter(String name, String description, String bizType) {
+        return Counter.builder(PREFIX + name).description(description).tag(TAG_BIZ_TYPE, bizType).register(registry);
+    }
+
+    private Timer phaseTimer(String bizType, String phase) {
+        return Timer.builder(PREFIX + "phase").description("导出各阶段耗时")
+                .tag(TAG_BIZ_TYPE, bizType).tag("phase", phase).register(registry);
+    }
+
+    private record BizMeters(Counter submitted, Counter succeeded, Counter failed, Counter cancelled, Timer queueWait,
+            Timer duration, Timer query, Timer render, Timer upload, Counter rows, Counter bytes,
+            DistributionSummary throughput) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.flux.export.spi.MultipartUpload;
+
+/**
+ * 分片上传输出流
+ * <p>
+ * 写满一个分片后交给上传线程异步上传, 同时继续写入下一个分片 (双缓冲),
+ * 使上传耗时与文件生成耗时重叠。同一时刻最多一个分片在上传, 内存占用为两个分片大小
+ */
+class MultipartUploadOutputStream extends OutputStream {
+
+    private final MultipartUpload upload;
+    private final Executor uploadExecutor;
+
+    private byte[] buffer;
+    private byte[] spare;
+    private int count;
+    private int partNumber;
+    /** 已提交上传的字节数 */
+    private long size;
+    private CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+    private boolean closed;
+
+    MultipartUploadOutputStream(MultipartUpload upload, int partSize, Executor uploadExecutor) {
+        this.upload = upload;
+        this.uploadExecutor = uploadExecutor;
+        this.buffer = new byte[partSize];
+        this.spare = new byte[partSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            submitPart();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                submitPart();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 写入最后一个分片并等待全部分片上传完成
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (count > 0 || partNumber == 0) {
+            submitPart();
+        }
+        awaitInFlight();
+    }
+
+    /**
+     * 丢弃未提交的数据, 等待已提交的分片结束 (忽略其异常), 用于失败路径
+     */
+    void discard() {
+        closed = true;
+        count = 0;
+        inFlight.exceptionally(e -> null).join();
+    }
+
+    /**
+     * 提交当前缓冲区为一个分片, 并切换到备用缓冲区
+     */
+    private void submitPart() throws IOException {
+        awaitInFlight();
+        byte[] data = buffer;
+        int length = count;
+        int number = ++partNumber;
+        size += length;
+        inFlight = CompletableFuture.runAsync(() -> upload.uploadPart(number, data, length), uploadExecutor);
+        buffer = spare;
+        spare = data;
+        count = 0;
+    }
+
+    /**
+     * 已提交上传的字节数
+     */
+    long size() {
+        return size;
+    }
+
+    private void awaitInFlight() throws IOException {
+        try {
+            inFlight.join();
+        } catch (CompletionException e) {
+            throw new IOException("分片上传失败: part=" + partNumber, e.getCause());
+        }
+    }
+}
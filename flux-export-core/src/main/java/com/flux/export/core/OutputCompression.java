@@ -0,0 +1,72 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.flux.export.config.CompressionMode;
+import com.flux.export.config.ExportFormat;
+
+/**
+ * 输出压缩
+ * <p>
+ * 在文件写入器与输出目标之间插入流式压缩, 写入器关闭时完成压缩并关闭底层流
+ */
+final class OutputCompression {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private OutputCompression() {
+    }
+
+    /**
+     * 实际生效的压缩方式, 已压缩的格式 (如 XLSX) 不再压缩
+     */
+    static CompressionMode effectiveMode(CompressionMode mode, ExportFormat format) {
+        return format.isCompressed() ? CompressionMode.NONE : mode;
+    }
+
+    /**
+     * 压缩后的文件名
+     *
+     * @param baseName 不含扩展名的文件名
+     * @param format   导出格式
+     * @param mode     实际生效的压缩方式
+     */
+    static String fileName(String baseName, ExportFormat format, CompressionMode mode) {
+        return switch (mode) {
+            case NONE -> baseName + format.extension();
+            case GZIP -> baseName + format.extension() + ".gz";
+            case ZIP -> baseName + ".zip";
+        };
+    }
+
+    /**
+     * 包装输出流
+     *
+     * @param out       底层输出流
+     * @param mode      实际生效的压缩方式
+     * @param level     压缩级别 0-9, -1 表示默认级别
+     * @param entryName zip 模式下的条目名
+     */
+    static OutputStream wrap(OutputStream out, CompressionMode mode, int level, String entryName)
+            throws IOException {
+        switch (mode) {
+            case GZIP:
+                return new GZIPOutputStream(out, GZIP_BUFFER_SIZE) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+            case ZIP:
+                ZipOutputStream zip = new ZipOutputStream(out);
+                zip.setLevel(level);
+                zip.putNextEntry(new ZipEntry(entryName));
+                return zip;
+            default:
+                return out;
+        }
+    }
+}
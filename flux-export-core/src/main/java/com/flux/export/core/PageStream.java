@@ -0,0 +1,51 @@
+package com.flux.export.core;
+
+import java.util.function.Function;
+
+import com.flux.export.model.ExportPage;
+
+/**
+ * 分页数据流
+ * <p>
+ * 按游标顺序逐页返回数据, 由 {@link #sequential(Function)} 在当前线程拉取,
+ * 或由 {@link PipelinedPageStream} 在独立线程预取
+ */
+interface PageStream extends AutoCloseable {
+
+    /**
+     * 获取下一页
+     *
+     * @return 下一页数据, 全部拉取完毕时返回 null
+     */
+    ExportPage next() throws Exception;
+
+    /**
+     * 释放资源 (停止预取线程等)
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * 创建在当前线程顺序拉取的数据流
+     *
+     * @param fetcher 根据游标拉取一页数据
+     */
+    static PageStream sequential(Function<String, ExportPage> fetcher) {
+        return new PageStream() {
+            private String cursor;
+            private boolean finished;
+
+            @Override
+            public ExportPage next() {
+                if (finished) {
+                    return null;
+                }
+                ExportPage page = fetcher.apply(cursor);
+                cursor = page.nextCursor();
+                finished = !page.hasNext();
+                return page;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.flux.export.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.flux.export.model.ExportPage;
+
+/**
+ * 流水线分页数据流
+ * <p>
+ * 生产者线程拉取第 N+1 页的同时, 消费者 (当前线程) 写入第 N 页。
+ * 两者之间为有界队列: 写入跟不上时生产者阻塞, 预取的页数不会超过队列容量, 内存占用可控。
+ * 同时按估算大小限制预取数据的总字节数 (任务内存预算), 单页过大时即使队列未满也等待消费者取走已预取的页
+ * <p>
+ * 传入多个拉取函数时 (分片导出), 每个分片一个生产者线程并行拉取, 汇入同一队列,
+ * 分片之间的页顺序不保证
+ */
+class PipelinedPageStream implements PageStream {
+
+    /** 单个生产者的结束标记 */
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    /** 预取数据的内存预算 (字节) */
+    private final long memoryBudget;
+    /** 已预取但尚未被取走的数据估算大小 (字节), 由 this 保护 */
+    private long bufferedBytes;
+    private final List<Future<?>> producers = new ArrayList<>();
+    private int activeProducers;
+    private boolean finished;
+
+    /**
+     * 启动单个生产者线程
+     *
+     * @param fetcher       根据游标拉取一页数据
+     * @param queueCapacity 预取队列容量 (页)
+     * @param memoryBudget  预取数据的内存预算 (字节)
+     * @param fetchExecutor 生产者线程池
+     */
+    PipelinedPageStream(Function<String, ExportPage> fetcher, int queueCapacity, long memoryBudget,
+            ExecutorService fetchExecutor) {
+        this(List.of(fetcher), queueCapacity, memoryBudget, fetchExecutor);
+    }
+
+    /**
+     * 为每个拉取函数启动一个生产者线程
+     *
+     * @param fetchers      各分片的拉取函数
+     * @param queueCapacity 预取队列容量 (页)
+     * @param memoryBudget  预取数据的内存预算 (字节)
+     * @param fetchExecutor 生产者线程池
+     */
+    PipelinedPageStream(List<Function<String, ExportPage>> fetchers, int queueCapacity, long memoryBudget,
+            ExecutorService fetchExecutor) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.memoryBudget = memoryBudget;
+        this.activeProducers = fetchers.size();
+        this.finished = fetchers.isEmpty();
+        for (Function<String, ExportPage> fetcher : fetchers) {
+            producers.add(fetchExecutor.submit(() -> produce(fetcher)));
+        }
+    }
+
+    private void produce(Function<String, ExportPage> fetcher) {
+        try {
+            String cursor = null;
+            ExportPage page;
+            do {
+                page = fetcher.apply(cursor);
+                long bytes = RowMemoryEstimator.estimateBytes(page.rows());
+                reserve(bytes);
+                queue.put(new BufferedPage(page, bytes));
+                cursor = page.nextCursor();
+            } while (page.hasNext());
+            queue.put(END);
+        } catch (InterruptedException e) {
+            // 消费端已关闭, 直接退出
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            try {
+                queue.put(e);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public ExportPage next() throws Exception {
+        while (!finished) {
+            Object item = queue.take();
+            if (item == END) {
+                finished = --activeProducers == 0;
+                continue;
+            }
+            if (item instanceof Throwable e) {
+                close();
+                // 抛出生产者的原始异常, 保留错误信息
+                if (e instanceof Exception ex) {
+                    throw ex;
+                }
+                throw (Error) e;
+            }
+            BufferedPage buffered = (BufferedPage) item;
+            release(buffered.bytes());
+            return buffered.page();
+        }
+        return null;
+    }
+
+    /**
+     * 占用预取内存, 超出预算时等待消费者取走已预取的页 (没有已预取的页时总是允许, 避免单页超出预算时死锁)
+     */
+    private synchronized void reserve(long bytes) throws InterruptedException {
+        while (bufferedBytes > 0 && bufferedBytes + bytes > memoryBudget) {
+            wait();
+        }
+        bufferedBytes += bytes;
+    }
+
+    private synchronized void release(long bytes) {
+        bufferedBytes -= bytes;
+        notifyAll();
+    }
+
+    /**
+     * 停止全部生产者线程并丢弃已预取的数据
+     */
+    @Override
+    public void close() {
+        finished = true;
+        producers.forEach(producer -> producer.cancel(true));
+        queue.clear();
+    }
+
+    /**
+     * 已预取的一页及其估算大小
+     */
+    private record BufferedPage(ExportPage page, long bytes) {
+    }
+}
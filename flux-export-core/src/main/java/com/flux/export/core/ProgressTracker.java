@@ -0,0 +1,105 @@
+package com.flux.export.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.flux.export.model.ExportProgress;
+import com.flux.export.model.ProgressReporter;
+
+/**
+ * 单个任务的进度统计
+ * <p>
+ * 写入阶段按 "已写入行数 / 预估总行数" 计算百分比 (上限 {@link #WRITE_PHASE_PERCENT}), 预估总行数未知时百分比为 0,
+ * 仅上报行数与速率。分片并行写入时由多个线程累加
+ */
+class ProgressTracker implements ProgressReporter {
+
+    /** 写入阶段占用的进度区间上限, 其余留给打包与上传 */
+    static final int WRITE_PHASE_PERCENT = 90;
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong lastReportNanos = new AtomicLong();
+    private final long reportIntervalNanos;
+    private final long startNanos = System.nanoTime();
+    /** 开始计时前已写入的行数 (从检查点恢复时), 不计入速率 */
+    private volatile long baseRows;
+    private volatile long total = ExportProgress.UNKNOWN;
+
+    /**
+     * @param reportIntervalMillis 写入阶段的最小上报间隔 (毫秒)
+     */
+    ProgressTracker(long reportIntervalMillis) {
+        this.reportIntervalNanos = reportIntervalMillis * 1_000_000L;
+        this.lastReportNanos.set(startNanos);
+    }
+
+    @Override
+    public long rowsWritten() {
+        return rows.get();
+    }
+
+    @Override
+    public long estimatedTotal() {
+        return total;
+    }
+
+    @Override
+    public void estimateTotal(long totalRows) {
+        total = totalRows < 0 ? ExportProgress.UNKNOWN : totalRows;
+    }
+
+    /**
+     * 从检查点恢复时设置已写入行数
+     */
+    void resumeFrom(long rowsWritten) {
+        baseRows = rowsWritten;
+        rows.set(rowsWritten);
+    }
+
+    /**
+     * 累加已写入行数
+     *
+     * @return 距上次上报已超过上报间隔时返回 true (同一时刻仅一个线程返回 true)
+     */
+    boolean addRows(long count) {
+        rows.addAndGet(count);
+        long now = System.nanoTime();
+        long last = lastReportNanos.get();
+        return now - last >= reportIntervalNanos && lastReportNanos.compareAndSet(last, now);
+    }
+
+    /**
+     * 写入阶段的进度
+     */
+    ExportProgress writing() {
+        long written = rows.get();
+        long estimated = total;
+        int percent = 0;
+        if (estimated > 0) {
+            percent = (int) Math.min(WRITE_PHASE_PERCENT - 1, written * WRITE_PHASE_PERCENT / estimated);
+        }
+        double rate = rowsPerSecond(written);
+        long eta = ExportProgress.UNKNOWN;
+        if (estimated >= 0 && rate > 0) {
+            eta = (long) Math.ceil(Math.max(0, estimated - written) / rate);
+        }
+        return new ExportProgress(percent, written, estimated, rate, eta);
+    }
+
+    /**
+     * 指定阶段的进度 (开始执行、写入完成、上传中)
+     * <p>
+     * 写入完成后剩余时间记为 0, 此前未知
+     *
+     * @param percent 阶段进度
+     */
+    ExportProgress at(int percent) {
+        long written = rows.get();
+        long eta = percent >= WRITE_PHASE_PERCENT ? 0 : ExportProgress.UNKNOWN;
+        return new ExportProgress(percent, written, total, rowsPerSecond(written), eta);
+    }
+
+    private double rowsPerSecond(long written) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds <= 0 ? 0 : (written - baseRows) / seconds;
+    }
+}
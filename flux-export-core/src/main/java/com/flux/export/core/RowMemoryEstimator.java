@@ -0,0 +1,91 @@
+package com.flux.export.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 行数据堆内存估算
+ * <p>
+ * 从数据中均匀抽取若干行, 按导出列 ({@link ExportColumn}) 的取值估算单行占用的堆内存,
+ * 再乘以行数得到整批数据的估算大小。只用于判断是否超出任务内存预算, 不追求精确
+ */
+final class RowMemoryEstimator {
+
+    /** 抽样行数 */
+    private static final int SAMPLE_ROWS = 16;
+    /** 对象头 */
+    private static final long OBJECT_HEADER = 16;
+    /** 引用 (含列表中的槽位) */
+    private static final long REFERENCE = 8;
+
+    private RowMemoryEstimator() {
+    }
+
+    /**
+     * 估算整批数据占用的堆内存 (字节)
+     */
+    static long estimateBytes(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        return rows.size() * estimateRowBytes(rows);
+    }
+
+    /**
+     * 抽样估算单行占用的堆内存 (字节)
+     */
+    static long estimateRowBytes(List<?> rows) {
+        int size = rows.size();
+        int samples = Math.min(SAMPLE_ROWS, size);
+        long total = 0;
+        for (int i = 0; i < samples; i++) {
+            total += rowBytes(rows.get((int) ((long) i * size / samples)));
+        }
+        return total / samples;
+    }
+
+    private static long rowBytes(Object row) {
+        if (row == null) {
+            return REFERENCE;
+        }
+        long bytes = REFERENCE + OBJECT_HEADER;
+        if (row instanceof Map<?, ?> map) {
+            for (Object value : map.values()) {
+                bytes += REFERENCE * 3 + valueBytes(value);
+            }
+            return bytes;
+        }
+        for (ExportColumn column : ExportColumn.of(row.getClass())) {
+            bytes += column.type().isPrimitive() ? REFERENCE : REFERENCE + valueBytes(column.get(row));
+        }
+        return bytes;
+    }
+
+    private static long valueBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            // String 对象 + byte[] (按 UTF-16 上限估算)
+            return OBJECT_HEADER * 2 + 8 + 2L * text.length();
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return 64;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Temporal || value instanceof Date) {
+            return 48;
+        }
+        if (value instanceof Collection<?> collection) {
+            return OBJECT_HEADER * 2 + collection.size() * (REFERENCE + OBJECT_HEADER + 8);
+        }
+        return OBJECT_HEADER * 2;
+    }
+}
@@ -0,0 +1,115 @@
+package com.flux.export.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.flux.export.model.CancellationToken;
+
+/**
+ * 溢写到本地临时文件的行数据
+ * <p>
+ * 超出任务内存预算的整批数据以 JSON 行格式写入临时文件, 之后按批读回, 堆内存中同一时刻只保留一批。
+ * 行对象按字段序列化 (不依赖 getter/setter), 读回时需要无参构造或 record 构造。关闭时删除临时文件
+ */
+final class RowSpillFile implements AutoCloseable {
+
+    private final Path file;
+    private final long rowCount;
+    private MappingIterator<?> reader;
+    private InputStream input;
+
+    private RowSpillFile(Path file, long rowCount) {
+        this.file = file;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * 将整批数据写入临时文件
+     *
+     * @param dir           临时文件目录
+     * @param prefix        临时文件名前缀
+     * @param mapper        按字段序列化的 ObjectMapper
+     * @param rows          行数据
+     * @param token         取消令牌
+     * @param checkInterval 每写入多少行检查一次是否已取消
+     */
+    static RowSpillFile write(Path dir, String prefix, ObjectMapper mapper, List<?> rows, CancellationToken token,
+            int checkInterval) throws IOException {
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, prefix, ".jsonl");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+                SequenceWriter writer = mapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (i % checkInterval == 0) {
+                    token.throwIfCancelled();
+                }
+                writer.write(rows.get(i));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new RowSpillFile(file, rows.size());
+    }
+
+    /**
+     * 溢写的行数
+     */
+    long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 溢写文件大小 (字节)
+     */
+    long fileSize() throws IOException {
+        return Files.size(file);
+    }
+
+    /**
+     * 按顺序读回下一批
+     *
+     * @param mapper    按字段序列化的 ObjectMapper
+     * @param rowType   行类型
+     * @param batchSize 最多读取的行数
+     * @return 下一批数据, 读取完毕时为空列表
+     */
+    List<?> read(ObjectMapper mapper, Class<?> rowType, int batchSize) throws IOException {
+        if (reader == null) {
+            input = new BufferedInputStream(Files.newInputStream(file));
+            reader = mapper.readerFor(rowType).readValues(input);
+        }
+        List<Object> batch = new ArrayList<>(Math.min(batchSize, 8192));
+        while (batch.size() < batchSize && reader.hasNextValue()) {
+            batch.add(reader.nextValue());
+        }
+        return batch;
+    }
+
+    /**
+     * 关闭读取流并删除临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+            if (input != null) {
+                input.close();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XLSX 共享字符串表与字符串编码策略
+ * <p>
+ * 仅低基数列的字符串写入共享字符串表 (单元格只保存下标), 其余写为内联字符串, 字典大小有上限:
+ * <ul>
+ * <li>声明的列 ({@link com.flux.export.config.ExportConfig#withSharedStrings}) 及枚举列始终优先共享</li>
+ * <li>其他列在新增的不同值超过 {@code columnCardinality} 后视为高基数列, 此后全部内联</li>
+ * <li>字典达到 {@code maxEntries} 条后不再新增, 新值内联; 超过 {@link #MAX_LENGTH} 的长文本始终内联</li>
+ * </ul>
+ * 订单号等高基数列不会撑大字典, 堆内存占用与导出行数无关
+ */
+final class SharedStrings {
+
+    /** 可共享的最大文本长度 */
+    static final int MAX_LENGTH = 256;
+
+    private final int maxEntries;
+    private final int columnCardinality;
+    /** 声明为低基数的列 (VO 字段名) */
+    private final List<String> declaredColumns;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    /** 各列是否声明为低基数 */
+    private boolean[] declared;
+    /** 各列新增到字典的不同值个数 */
+    private int[] distinct;
+    /** 已判定为高基数、不再查字典的列 */
+    private boolean[] inline;
+    /** 共享字符串单元格总数 */
+    private long references;
+
+    /**
+     * @param maxEntries        字典最大条目数, 0 表示不使用共享字符串
+     * @param columnCardinality 未声明的列新增的不同值超过该值后视为高基数列
+     * @param declaredColumns   声明为低基数的列 (VO 字段名)
+     */
+    SharedStrings(int maxEntries, int columnCardinality, List<String> declaredColumns) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.columnCardinality = Math.max(0, columnCardinality);
+        this.declaredColumns = declaredColumns;
+    }
+
+    /**
+     * 绑定导出列 (按输出顺序)
+     */
+    void bind(List<ExportColumn> columns) {
+        declared = new boolean[columns.size()];
+        distinct = new int[columns.size()];
+        inline = new boolean[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            // 枚举列的取值有限, 视同声明
+            declared[i] = declaredColumns.contains(columns.get(i).name()) || columns.get(i).type().isEnum();
+            inline[i] = maxEntries == 0;
+        }
+    }
+
+    /**
+     * 获取文本在共享字符串表中的下标
+     *
+     * @param column 列下标
+     * @param text   文本
+     * @return 下标, 应写为内联字符串时返回 -1
+     */
+    int indexOf(int column, String text) {
+        if (inline[column] || text.length() > MAX_LENGTH) {
+            return -1;
+        }
+        Integer index = indexes.get(text);
+        if (index == null) {
+            if (values.size() >= maxEntries) {
+                return -1;
+            }
+            if (!declared[column] && ++distinct[column] > columnCardinality) {
+                inline[column] = true;
+                return -1;
+            }
+            index = values.size();
+            indexes.put(text, index);
+            values.add(text);
+        }
+        references++;
+        return index;
+    }
+
+    /**
+     * 字典条目数
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * 写入 {@code xl/sharedStrings.xml} 的内容
+     */
+    void write(XmlByteWriter xml, byte[] declaration) throws IOException {
+        xml.raw(declaration)
+                .ascii("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"")
+                .number(references).ascii("\" uniqueCount=\"").number(values.size()).ascii("\">");
+        for (String value : values) {
+            xml.ascii(XlsxStreamWriter.preserveSpace(value) ? "<si><t xml:space=\"preserve\">" : "<si><t>")
+                    .text(value).ascii("</t></si>");
+        }
+        xml.ascii("</sst>");
+    }
+}
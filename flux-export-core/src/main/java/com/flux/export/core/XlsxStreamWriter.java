@@ -0,0 +1,564 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.write.style.ContentFontStyle;
+import com.alibaba.excel.annotation.write.style.ContentLoopMerge;
+import com.alibaba.excel.annotation.write.style.ContentRowHeight;
+import com.alibaba.excel.annotation.write.style.ContentStyle;
+import com.alibaba.excel.annotation.write.style.HeadFontStyle;
+import com.alibaba.excel.annotation.write.style.HeadRowHeight;
+import com.alibaba.excel.annotation.write.style.HeadStyle;
+import com.alibaba.excel.annotation.write.style.OnceAbsoluteMerge;
+import com.alibaba.excel.converters.AutoConverter;
+
+/**
+ * 原生 XLSX 流式写入器
+ * <p>
+ * 不经过 EasyExcel / POI 的单元格模型: 列及字段读取句柄由 {@link ExportColumn} 按 VO 类型预先解析,
+ * 每行直接生成 Sheet XML, 经复用的字节缓冲 ({@link XmlByteWriter}) 写入 XLSX 压缩包。
+ * 每列的单元格类型与格式 ({@link DateTimeFormat}、{@link NumberFormat}) 由 {@link ColumnFormat} 预先解析,
+ * 基本数值类型字段免装箱读取, 数值、布尔、日期写为对应类型的单元格; 字符串按 {@link SharedStrings} 的策略,
+ * 低基数列写入共享字符串表, 其余写为内联字符串
+ * <p>
+ * 表头样式与 EasyExcel 默认样式一致, 支持 {@link ColumnWidth}。VO 使用了原生写入器不支持的 EasyExcel 特性
+ * (自定义转换器、多级表头、样式与合并注解等) 时, 首次写入时自动改用 {@link ExcelBatchWriter}
+ * <p>
+ * 单个 Sheet 写满 {@code maxRowsPerSheet} 行后自动切换到新 Sheet, 与 {@link ExcelBatchWriter} 一致
+ */
+class XlsxStreamWriter implements ExportFileWriter {
+
+    /** 使用 EasyExcel 写入 XLSX ({@code flux-export.writer.engine}) */
+    static final String ENGINE_EASYEXCEL = "easyexcel";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** Excel 单元格文本长度上限 */
+    private static final int MAX_TEXT_LENGTH = 32_767;
+    /** 日期序列值保留的小数位数 (约 8.64 微秒) */
+    private static final int SERIAL_SCALE = 10;
+    /** 表头样式在 cellXfs 中的下标, 0 为默认样式 */
+    private static final int HEAD_STYLE = 1;
+    /** 自定义数字格式的起始编号 */
+    private static final int FIRST_CUSTOM_FORMAT_ID = 164;
+    private static final String SHEET_NAME_PREFIX = "Sheet";
+
+    private static final List<Class<? extends Annotation>> UNSUPPORTED_ANNOTATIONS = List.of(HeadStyle.class,
+            HeadFontStyle.class, HeadRowHeight.class, ContentStyle.class, ContentFontStyle.class,
+            ContentRowHeight.class, OnceAbsoluteMerge.class, ContentLoopMerge.class);
+
+    private static final byte[] XML_DECLARATION =
+            ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+    private static final byte[] SHEET_START = ascii("<worksheet xmlns=\"http://schemas.openxmlformats.org/"
+            + "spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/"
+            + "relationships\">");
+    private static final byte[] SHEET_DATA_START = ascii("<sheetData>");
+    private static final byte[] SHEET_END = ascii("</sheetData></worksheet>");
+    private static final byte[] ROW_START = ascii("<row r=\"");
+    private static final byte[] ROW_START_END = ascii("\">");
+    private static final byte[] ROW_END = ascii("</row>");
+    private static final byte[] HEAD_CELL = ascii("\" s=\"" + HEAD_STYLE + "\" t=\"inlineStr\"><is><t>");
+    private static final byte[] STRING_CELL = ascii("\" t=\"inlineStr\"><is><t>");
+    private static final byte[] STRING_CELL_PRESERVE = ascii("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+    private static final byte[] STRING_CELL_END = ascii("</t></is></c>");
+    private static final byte[] SHARED_STRING_CELL = ascii("\" t=\"s\"><v>");
+    private static final byte[] NUMBER_CELL = ascii("\"><v>");
+    private static final byte[] BOOLEAN_CELL = ascii("\" t=\"b\"><v>");
+    private static final byte[] VALUE_CELL_END = ascii("</v></c>");
+    /** 样式表中的字体、填充与边框: 默认字体, 表头字体 (宋体 14 号加粗)、灰色填充与细边框 */
+    private static final byte[] STYLE_FONTS_FILLS_BORDERS = ("<fonts count=\"2\"><font><sz val=\"11\"/>"
+            + "<name val=\"宋体\"/><family val=\"2\"/></font><font><b/><sz val=\"14\"/><name val=\"宋体\"/>"
+            + "<family val=\"2\"/></font></fonts><fills count=\"3\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill><fill><patternFill patternType=\"solid\">"
+            + "<fgColor indexed=\"22\"/><bgColor indexed=\"64\"/></patternFill></fill></fills>"
+            + "<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border>"
+            + "<border><left style=\"thin\"/><right style=\"thin\"/><top style=\"thin\"/><bottom style=\"thin\"/>"
+            + "<diagonal/></border></borders>").getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream outputStream;
+    private final int maxRowsPerSheet;
+    /** 导出列 (VO 字段名), 为空时导出全部列 */
+    private final List<String> includeColumns;
+    private final int compressionLevel;
+    private final SharedStrings sharedStrings;
+    private final TimeZone timeZone = TimeZone.getDefault();
+    /** 日期/数字格式 -> 使用该格式的单元格开始标签 (不含单元格引用), 按 cellXfs 顺序 */
+    private final Map<String, byte[]> formatCells = new LinkedHashMap<>();
+
+    /** VO 不受支持时改用的 EasyExcel 写入器 */
+    private ExcelBatchWriter fallback;
+    private ZipOutputStream zip;
+    private XmlByteWriter xml;
+    private List<ExportColumn> columns;
+    /** VO 类上的默认列宽 */
+    private ColumnWidth defaultWidth;
+    /** 各列单元格开始标签 ({@code <c r="B}), 其后接行号 */
+    private byte[][] cellRefs;
+    /** 各列的值格式 */
+    private ColumnFormat[] formats;
+    /** 各列数值/日期单元格的开始标签 (含格式样式), 其后接值 */
+    private byte[][] valueCells;
+    private int sheetCount;
+    private int sheetRowCount;
+    private long rowCount;
+
+    /**
+     * @param outputStream     输出流
+     * @param maxRowsPerSheet  单个 Sheet 的最大数据行数, 超过 XLSX 上限时按上限处理
+     * @param includeColumns   导出列 (VO 字段名, 按输出顺序), 为空时导出全部列
+     * @param compressionLevel XLSX 压缩包的压缩级别 0-9, -1 表示默认级别
+     * @param sharedStrings    共享字符串表 (每个文件一个)
+     */
+    XlsxStreamWriter(OutputStream outputStream, int maxRowsPerSheet, List<String> includeColumns,
+            int compressionLevel, SharedStrings sharedStrings) {
+        this.outputStream = outputStream;
+        this.maxRowsPerSheet = maxRowsPerSheet <= 0 ? ExcelBatchWriter.XLSX_MAX_DATA_ROWS
+                : Math.min(maxRowsPerSheet, ExcelBatchWriter.XLSX_MAX_DATA_ROWS);
+        this.includeColumns = includeColumns;
+        this.compressionLevel = compressionLevel;
+        this.sharedStrings = sharedStrings;
+    }
+
+    /**
+     * 原生写入器是否支持该 VO 类型
+     * <p>
+     * 不支持 Map 等非 Bean 数据, 以及需要 EasyExcel 转换器、样式或合并处理的 VO
+     */
+    static boolean supports(Class<?> dataClass) {
+        if (Map.class.isAssignableFrom(dataClass) || Iterable.class.isAssignableFrom(dataClass)) {
+            return false;
+        }
+        List<ExportColumn> columns = ExportColumn.of(dataClass);
+        if (columns.isEmpty()) {
+            return false;
+        }
+        for (Class<? extends Annotation> annotation : UNSUPPORTED_ANNOTATIONS) {
+            if (dataClass.isAnnotationPresent(annotation)) {
+                return false;
+            }
+        }
+        for (ExportColumn column : columns) {
+            for (Class<? extends Annotation> annotation : UNSUPPORTED_ANNOTATIONS) {
+                if (column.annotation(annotation) != null) {
+                    return false;
+                }
+            }
+            ExcelProperty property = column.annotation(ExcelProperty.class);
+            if (property != null && (property.value().length > 1 || property.converter() != AutoConverter.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void write(Class<?> dataClass, List<?> rows) throws IOException {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        if (fallback == null && columns == null) {
+            init(dataClass);
+        }
+        if (fallback != null) {
+            fallback.write(dataClass, rows);
+            return;
+        }
+        for (Object row : rows) {
+            if (sheetRowCount >= maxRowsPerSheet) {
+                closeSheet();
+                openSheet();
+            }
+            writeRow(row, sheetRowCount + 2);
+            sheetRowCount++;
+        }
+        rowCount += rows.size();
+    }
+
+    /**
+     * 解析列, 不支持的 VO 改用 EasyExcel, 否则打开压缩包与第一个 Sheet
+     */
+    private void init(Class<?> dataClass) throws IOException {
+        if (!supports(dataClass)) {
+            fallback = new ExcelBatchWriter(outputStream, maxRowsPerSheet, includeColumns);
+            return;
+        }
+        columns = ExportColumn.of(dataClass, includeColumns);
+        sharedStrings.bind(columns);
+        defaultWidth = dataClass.getAnnotation(ColumnWidth.class);
+        cellRefs = new byte[columns.size()][];
+        formats = new ColumnFormat[columns.size()];
+        valueCells = new byte[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            cellRefs[i] = ascii("<c r=\"" + columnName(i));
+            formats[i] = ColumnFormat.of(columns.get(i), timeZone);
+            valueCells[i] = formats[i].pattern() != null ? formatCell(formats[i].pattern()) : NUMBER_CELL;
+        }
+        zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        zip.setLevel(compressionLevel);
+        xml = new XmlByteWriter(zip, BUFFER_SIZE);
+        openSheet();
+    }
+
+    /**
+     * 开始新 Sheet 并写入列宽与表头
+     */
+    private void openSheet() throws IOException {
+        sheetCount++;
+        sheetRowCount = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        xml.raw(XML_DECLARATION).raw(SHEET_START);
+        writeColumnWidths();
+        xml.raw(SHEET_DATA_START).raw(ROW_START).number(1).raw(ROW_START_END);
+        for (int i = 0; i < columns.size(); i++) {
+            xml.raw(cellRefs[i]).number(1).raw(HEAD_CELL).text(columns.get(i).header()).raw(STRING_CELL_END);
+        }
+        xml.raw(ROW_END);
+    }
+
+    private void writeColumnWidths() throws IOException {
+        boolean open = false;
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnWidth width = columns.get(i).annotation(ColumnWidth.class);
+            if (width == null) {
+                width = defaultWidth;
+            }
+            if (width == null || width.value() < 0) {
+                continue;
+            }
+            if (!open) {
+                xml.ascii("<cols>");
+                open = true;
+            }
+            xml.ascii("<col min=\"").number(i + 1L).ascii("\" max=\"").number(i + 1L).ascii("\" width=\"")
+                    .number(width.value()).ascii("\" customWidth=\"1\"/>");
+        }
+        if (open) {
+            xml.ascii("</cols>");
+        }
+    }
+
+    private void closeSheet() throws IOException {
+        xml.raw(SHEET_END).flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 写入一行数据
+     *
+     * @param row       行数据
+     * @param rowNumber Excel 行号 (从 1 开始, 含表头)
+     */
+    private void writeRow(Object row, int rowNumber) throws IOException {
+        xml.raw(ROW_START).number(rowNumber).raw(ROW_START_END);
+        for (int i = 0; i < columns.size(); i++) {
+            ExportColumn column = columns.get(i);
+            switch (formats[i].kind()) {
+                case PRIMITIVE_INTEGRAL -> valueCell(i, rowNumber, valueCells[i]).number(column.getLong(row))
+                        .raw(VALUE_CELL_END);
+                case PRIMITIVE_FLOATING -> doubleCell(i, rowNumber, valueCells[i], column.getDouble(row));
+                default -> {
+                    Object value = column.get(row);
+                    if (value != null) {
+                        writeCell(i, rowNumber, value);
+                    }
+                }
+            }
+        }
+        xml.raw(ROW_END);
+    }
+
+    /**
+     * 按列的声明类型写入单元格
+     */
+    private void writeCell(int index, int rowNumber, Object value) throws IOException {
+        byte[] open = valueCells[index];
+        switch (formats[index].kind()) {
+            case STRING -> stringCell(index, rowNumber, (String) value);
+            case INTEGRAL -> valueCell(index, rowNumber, open).number(((Number) value).longValue())
+                    .raw(VALUE_CELL_END);
+            case FLOATING -> floatingCell(index, rowNumber, open, (Number) value);
+            case DECIMAL -> valueCell(index, rowNumber, open)
+                    .ascii(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString())
+                    .raw(VALUE_CELL_END);
+            case BOOLEAN -> valueCell(index, rowNumber, BOOLEAN_CELL).number((Boolean) value ? 1 : 0)
+                    .raw(VALUE_CELL_END);
+            case DATE -> dateCell(index, rowNumber, open, value);
+            case ENUM -> stringCell(index, rowNumber, value.toString());
+            default -> writeDynamicCell(index, rowNumber, value);
+        }
+    }
+
+    /**
+     * 声明类型无法确定单元格类型 (如 Object) 时, 按值的实际类型写入
+     */
+    private void writeDynamicCell(int index, int rowNumber, Object value) throws IOException {
+        if (value instanceof String text) {
+            stringCell(index, rowNumber, text);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            valueCell(index, rowNumber, NUMBER_CELL).number(((Number) value).longValue()).raw(VALUE_CELL_END);
+        } else if (value instanceof Double || value instanceof Float) {
+            floatingCell(index, rowNumber, NUMBER_CELL, (Number) value);
+        } else if (value instanceof BigDecimal decimal) {
+            valueCell(index, rowNumber, NUMBER_CELL).ascii(decimal.toPlainString()).raw(VALUE_CELL_END);
+        } else if (value instanceof BigInteger integer) {
+            valueCell(index, rowNumber, NUMBER_CELL).ascii(integer.toString()).raw(VALUE_CELL_END);
+        } else if (value instanceof Boolean bool) {
+            valueCell(index, rowNumber, BOOLEAN_CELL).number(bool ? 1 : 0).raw(VALUE_CELL_END);
+        } else if (ColumnFormat.isDate(value.getClass())) {
+            dateCell(index, rowNumber,
+                    formatCell(ColumnFormat.datePattern(columns.get(index), value.getClass())), value);
+        } else {
+            stringCell(index, rowNumber, formats[index].text(value));
+        }
+    }
+
+    private XmlByteWriter valueCell(int index, int rowNumber, byte[] open) throws IOException {
+        return xml.raw(cellRefs[index]).number(rowNumber).raw(open);
+    }
+
+    /**
+     * float 按其自身的十进制形式写入, 避免拓宽为 double 后出现多余的尾数
+     */
+    private void floatingCell(int index, int rowNumber, byte[] open, Number value) throws IOException {
+        float single = value.floatValue();
+        if (value instanceof Float && Float.isFinite(single) && single != (long) single) {
+            valueCell(index, rowNumber, open).ascii(Float.toString(single)).raw(VALUE_CELL_END);
+        } else {
+            doubleCell(index, rowNumber, open, value.doubleValue());
+        }
+    }
+
+    private void doubleCell(int index, int rowNumber, byte[] open, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            stringCell(index, rowNumber, Double.toString(value));
+        } else if (value == (long) value && Math.abs(value) < 1e15) {
+            valueCell(index, rowNumber, open).number((long) value).raw(VALUE_CELL_END);
+        } else {
+            valueCell(index, rowNumber, open).ascii(Double.toString(value)).raw(VALUE_CELL_END);
+        }
+    }
+
+    private void stringCell(int index, int rowNumber, String text) throws IOException {
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("单元格文本超过 Excel 上限 " + MAX_TEXT_LENGTH + " 个字符: 列 "
+                    + columns.get(index).name() + ", 行 " + rowNumber);
+        }
+        int shared = sharedStrings.indexOf(index, text);
+        if (shared >= 0) {
+            valueCell(index, rowNumber, SHARED_STRING_CELL).number(shared).raw(VALUE_CELL_END);
+            return;
+        }
+        valueCell(index, rowNumber, preserveSpace(text) ? STRING_CELL_PRESERVE : STRING_CELL).text(text)
+                .raw(STRING_CELL_END);
+    }
+
+    /**
+     * 首尾有空白的文本需声明 {@code xml:space="preserve"}, 否则 Excel 会去掉空白
+     */
+    static boolean preserveSpace(String text) {
+        return !text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+    }
+
+    /**
+     * 日期写为日期序列值 + 日期格式样式; 1900-03-01 之前的日期写为文本
+     */
+    private void dateCell(int index, int rowNumber, byte[] open, Object value) throws IOException {
+        double serial = formats[index].serial(value);
+        if (serial < 0) {
+            stringCell(index, rowNumber, formats[index].text(value));
+            return;
+        }
+        valueCell(index, rowNumber, open).decimal(serial, SERIAL_SCALE).raw(VALUE_CELL_END);
+    }
+
+    /**
+     * 使用指定日期/数字格式的单元格开始标签 (不含单元格引用), 首次使用时登记样式
+     */
+    private byte[] formatCell(String pattern) {
+        byte[] open = formatCells.get(pattern);
+        if (open == null) {
+            open = ascii("\" s=\"" + (HEAD_STYLE + 1 + formatCells.size()) + "\"><v>");
+            formatCells.put(pattern, open);
+        }
+        return open;
+    }
+
+    @Override
+    public long getRowCount() {
+        return fallback != null ? fallback.getRowCount() : rowCount;
+    }
+
+    /**
+     * 已创建的 Sheet 数
+     */
+    int getSheetCount() {
+        return fallback != null ? fallback.getSheetCount() : sheetCount;
+    }
+
+    /**
+     * 写完当前 Sheet 及工作簿其余部件, 关闭压缩包
+     */
+    @Override
+    public void close() throws IOException {
+        if (fallback != null) {
+            fallback.close();
+            return;
+        }
+        if (zip == null) {
+            return;
+        }
+        try {
+            closeSheet();
+            writeSharedStrings();
+            writeStyles();
+            writeWorkbook();
+            writeContentTypes();
+            xml.flush();
+            zip.finish();
+        } finally {
+            zip.close();
+            zip = null;
+        }
+    }
+
+    private void writeSharedStrings() throws IOException {
+        if (sharedStrings.size() == 0) {
+            return;
+        }
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        sharedStrings.write(xml, XML_DECLARATION);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 样式表: 0 默认样式, 1 表头 (与 EasyExcel 默认表头一致: 宋体 14 号加粗、灰色填充、细边框、居中换行), 其后为各日期/数字格式
+     */
+    private void writeStyles() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        xml.raw(XML_DECLARATION)
+                .ascii("<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        if (!formatCells.isEmpty()) {
+            xml.ascii("<numFmts count=\"").number(formatCells.size()).ascii("\">");
+            int formatId = FIRST_CUSTOM_FORMAT_ID;
+            for (String pattern : formatCells.keySet()) {
+                xml.ascii("<numFmt numFmtId=\"").number(formatId++).ascii("\" formatCode=\"").text(pattern)
+                        .ascii("\"/>");
+            }
+            xml.ascii("</numFmts>");
+        }
+        xml.raw(STYLE_FONTS_FILLS_BORDERS)
+                .ascii("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/>")
+                .ascii("</cellStyleXfs>")
+                .ascii("<cellXfs count=\"").number(HEAD_STYLE + 1L + formatCells.size()).ascii("\">")
+                .ascii("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>")
+                .ascii("<xf numFmtId=\"0\" fontId=\"1\" fillId=\"2\" borderId=\"1\" xfId=\"0\" applyFont=\"1\"")
+                .ascii(" applyFill=\"1\" applyBorder=\"1\" applyAlignment=\"1\">")
+                .ascii("<alignment horizontal=\"center\" vertical=\"center\" wrapText=\"1\"/></xf>");
+        for (int i = 0; i < formatCells.size(); i++) {
+            xml.ascii("<xf numFmtId=\"").number(FIRST_CUSTOM_FORMAT_ID + i)
+                    .ascii("\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>");
+        }
+        xml.ascii("</cellXfs><cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/>")
+                .ascii("</cellStyles></styleSheet>")
+                .flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 工作簿、工作簿关系与包关系
+     */
+    private void writeWorkbook() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        xml.raw(XML_DECLARATION)
+                .ascii("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"")
+                .ascii(" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.ascii("<sheet name=\"" + SHEET_NAME_PREFIX).number(i).ascii("\" sheetId=\"").number(i)
+                    .ascii("\" r:id=\"rId").number(i).ascii("\"/>");
+        }
+        xml.ascii("</sheets></workbook>").flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        xml.raw(XML_DECLARATION)
+                .ascii("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.ascii("<Relationship Id=\"rId").number(i)
+                    .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\"")
+                    .ascii(" Target=\"worksheets/sheet").number(i).ascii(".xml\"/>");
+        }
+        xml.ascii("<Relationship Id=\"rId").number(sheetCount + 1L)
+                .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\"")
+                .ascii(" Target=\"styles.xml\"/>");
+        if (sharedStrings.size() > 0) {
+            xml.ascii("<Relationship Id=\"rId").number(sheetCount + 2L)
+                    .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/")
+                    .ascii("sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        xml.ascii("</Relationships>").flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        xml.raw(XML_DECLARATION)
+                .ascii("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .ascii("<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/")
+                .ascii("relationships/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>")
+                .flush();
+        zip.closeEntry();
+    }
+
+    private void writeContentTypes() throws IOException {
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        xml.raw(XML_DECLARATION)
+                .ascii("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .ascii("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.")
+                .ascii("relationships+xml\"/><Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .ascii("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-")
+                .ascii("officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .ascii("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-")
+                .ascii("officedocument.spreadsheetml.styles+xml\"/>");
+        if (sharedStrings.size() > 0) {
+            xml.ascii("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-")
+                    .ascii("officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        }
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.ascii("<Override PartName=\"/xl/worksheets/sheet").number(i)
+                    .ascii(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.")
+                    .ascii("spreadsheetml.worksheet+xml\"/>");
+        }
+        xml.ascii("</Types>").flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 列名 (A, B, ..., Z, AA, ...)
+     */
+    private static String columnName(int index) {
+        StringBuilder name = new StringBuilder(3);
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,190 @@
+package com.flux.export.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * XML 字节写入缓冲
+ * <p>
+ * 字符直接按 UTF-8 编码进复用的字节数组, 写满后整块写出, 写入单元格时不创建中间字符串或字节数组。
+ * 文本按 XML 规则转义, 并丢弃 XML 1.0 不允许的字符 (控制字符、孤立的代理字符等)
+ */
+final class XmlByteWriter {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L};
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * @param out      输出流
+     * @param capacity 缓冲区大小 (字节)
+     */
+    XmlByteWriter(OutputStream out, int capacity) {
+        this.out = out;
+        this.buffer = new byte[Math.max(capacity, 64)];
+    }
+
+    /**
+     * 写入预编码的字节 (标签片段等)
+     */
+    XmlByteWriter raw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flush();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    /**
+     * 写入不需要转义的 ASCII 文本 (标签、属性名等)
+     */
+    XmlByteWriter ascii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (position == buffer.length) {
+                flush();
+            }
+            buffer[position++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * 写入十进制整数
+     */
+    XmlByteWriter number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return raw(MIN_LONG);
+        }
+        if (buffer.length - position < 20) {
+            flush();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    /**
+     * 以定点小数写入非负数, 去掉末尾的 0
+     *
+     * @param value 非负数 (整数部分不超过 {@code 2^53 / 10^scale})
+     * @param scale 小数位数
+     */
+    XmlByteWriter decimal(double value, int scale) throws IOException {
+        long factor = POWERS_OF_TEN[scale];
+        long scaled = Math.round(value * factor);
+        number(scaled / factor);
+        long fraction = scaled % factor;
+        if (fraction == 0) {
+            return this;
+        }
+        int digits = scale;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        if (buffer.length - position < scale + 1) {
+            flush();
+        }
+        buffer[position++] = '.';
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        position += digits;
+        return this;
+    }
+
+    /**
+     * 写入转义后的文本 (元素内容或属性值)
+     */
+    XmlByteWriter text(CharSequence text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - position < 6) {
+                flush();
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '<' -> escape('l', 't');
+                    case '>' -> escape('g', 't');
+                    case '&' -> {
+                        buffer[position++] = '&';
+                        buffer[position++] = 'a';
+                        buffer[position++] = 'm';
+                        buffer[position++] = 'p';
+                        buffer[position++] = ';';
+                    }
+                    case '"' -> {
+                        buffer[position++] = '&';
+                        buffer[position++] = 'q';
+                        buffer[position++] = 'u';
+                        buffer[position++] = 'o';
+                        buffer[position++] = 't';
+                        buffer[position++] = ';';
+                    }
+                    default -> {
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            buffer[position++] = (byte) c;
+                        }
+                    }
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c)) {
+                if (i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                }
+            } else if (!Character.isLowSurrogate(c) && c != 0xFFFE && c != 0xFFFF) {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return this;
+    }
+
+    private void escape(char first, char second) {
+        buffer[position++] = '&';
+        buffer[position++] = (byte) first;
+        buffer[position++] = (byte) second;
+        buffer[position++] = ';';
+    }
+
+    /**
+     * 将缓冲区内容写出 (不刷新底层输出流)
+     */
+    void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
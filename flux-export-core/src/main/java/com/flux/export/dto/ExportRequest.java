@@ -1,5 +1,9 @@
 package com.flux.export.dto;
 
+import java.util.List;
+
+import com.flux.export.config.ExportFormat;
+
 import jakarta.validation.constraints.NotBlank;
 
 /**
@@ -7,9 +11,19 @@ import jakarta.validation.constraints.NotBlank;
  *
  * @param bizType 业务类型标识
  * @param params  业务参数对象
+ * @param format  导出文件格式 (可选, 为空时使用业务配置的默认格式)
+ * @param columns 导出列 (可选, VO 字段名, 按输出顺序; 为空时导出全部列)
  */
 public record ExportRequest(
                 @NotBlank(message = "业务类型不能为空") String bizType,
-                Object params) {
+                Object params,
+                ExportFormat format,
+                List<String> columns) {
 
+        /**
+         * 创建导出全部列的请求
+         */
+        public ExportRequest(String bizType, Object params, ExportFormat format) {
+                this(bizType, params, format, null);
+        }
 }
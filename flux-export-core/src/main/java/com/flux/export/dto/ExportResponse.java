@@ -1,16 +1,21 @@
 package com.flux.export.dto;
 
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.TaskStatus;
 
 /**
  * 导出响应 DTO
  *
- * @param taskId   任务 ID
- * @param status   任务状态
- * @param progress 进度 (0-100)
- * @param fileUrl  文件下载地址（成功时返回）
- * @param errorMsg 错误信息（失败时返回）
- * @param message  提示信息
+ * @param taskId        任务 ID
+ * @param status        任务状态
+ * @param progress      进度 (0-100)
+ * @param fileUrl       文件下载地址（成功时返回）
+ * @param errorMsg      错误信息（失败时返回）
+ * @param message       提示信息
+ * @param rowsWritten   已写入行数 (未上报时为 null)
+ * @param totalRows     预估总行数 (未知时为 null)
+ * @param rowsPerSecond 写入速率, 行/秒 (未上报时为 null)
+ * @param etaSeconds    预计剩余秒数 (未知时为 null)
  */
 public record ExportResponse(
         String taskId,
@@ -18,8 +23,20 @@ public record ExportResponse(
         int progress,
         String fileUrl,
         String errorMsg,
-        String message
+        String message,
+        Long rowsWritten,
+        Long totalRows,
+        Double rowsPerSecond,
+        Long etaSeconds
 ) {
+    /**
+     * 创建不含进度明细的响应
+     */
+    public ExportResponse(String taskId, TaskStatus status, int progress, String fileUrl, String errorMsg,
+            String message) {
+        this(taskId, status, progress, fileUrl, errorMsg, message, null, null, null, null);
+    }
+
     /**
      * 创建提交成功响应
      */
@@ -27,23 +44,50 @@ public record ExportResponse(
         return new ExportResponse(taskId, TaskStatus.PENDING, 0, null, null, "任务已提交");
     }
 
+    /**
+     * 创建取消请求已受理响应
+     * <p>
+     * 执行中的任务在下一批次前终止, 最终状态以查询结果为准
+     */
+    public static ExportResponse cancelRequested(com.flux.export.model.ExportTask task) {
+        return new ExportResponse(task.taskId(), task.status(), task.progress(), null, null, "取消请求已提交");
+    }
+
     /**
      * 创建查询响应
      */
     public static ExportResponse fromTask(com.flux.export.model.ExportTask task) {
+        ExportProgress detail = task.progressDetail();
         String message = switch (task.status()) {
             case PENDING -> "任务等待处理";
-            case PROCESSING -> "任务处理中，进度: " + task.progress() + "%";
-            case SUCCESS -> "导出成功";
+            case PROCESSING -> processingMessage(task.progress(), detail);
+            case SUCCESS -> task.fileUrl() != null ? "导出成功" : "导出成功, 自上次导出后无新增数据";
             case FAILED -> "导出失败: " + task.errorMsg();
+            case CANCELLED -> "任务已取消";
         };
+        if (detail == null) {
+            return new ExportResponse(task.taskId(), task.status(), task.progress(), task.fileUrl(), task.errorMsg(),
+                    message);
+        }
         return new ExportResponse(
                 task.taskId(),
                 task.status(),
                 task.progress(),
                 task.fileUrl(),
                 task.errorMsg(),
-                message
+                message,
+                detail.rowsWritten(),
+                detail.hasTotal() ? detail.totalRows() : null,
+                Math.round(detail.rowsPerSecond() * 10) / 10.0,
+                task.status() == TaskStatus.PROCESSING && detail.hasEta() ? detail.etaSeconds() : null
         );
     }
-}
\ No newline at end of file
+
+    private static String processingMessage(int progress, ExportProgress detail) {
+        if (detail == null || detail.rowsWritten() == 0) {
+            return "任务处理中，进度: " + progress + "%";
+        }
+        String message = "任务处理中，进度: " + progress + "%，已写入 " + detail.rowsWritten() + " 行";
+        return detail.hasEta() ? message + "，预计剩余 " + detail.etaSeconds() + " 秒" : message;
+    }
+}
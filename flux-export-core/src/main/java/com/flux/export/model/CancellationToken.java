@@ -0,0 +1,131 @@
+package com.flux.export.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导出任务取消令牌
+ * <p>
+ * 任务被取消后, SDK 在批次之间检查令牌并终止导出; 正在执行的长查询可通过
+ * {@link #onCancel(Runnable)} 注册取消回调 (如 {@code Statement#cancel()}) 及时中断。
+ * <p>
+ * SDK 拉取每一批数据时会将令牌绑定到当前线程, 数据访问层的拦截器可通过 {@link #current()} 获取,
+ * 无需修改业务 Service
+ */
+public final class CancellationToken {
+
+    /** 永不取消的令牌 */
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * 是否已取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 已取消时抛出 {@link ExportCancelledException}
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new ExportCancelledException();
+        }
+    }
+
+    /**
+     * 取消令牌, 依次执行已注册的回调
+     *
+     * @return 是否为首次取消
+     */
+    public boolean cancel() {
+        if (this == NONE) {
+            return false;
+        }
+        List<Runnable> toRun;
+        synchronized (callbacks) {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        toRun.forEach(CancellationToken::runQuietly);
+        return true;
+    }
+
+    /**
+     * 注册取消回调
+     * <p>
+     * 已取消时立即执行。返回的句柄关闭后注销回调, 应在受保护的操作结束后关闭
+     *
+     * @param callback 取消回调
+     * @return 注销句柄
+     */
+    public Registration onCancel(Runnable callback) {
+        if (this == NONE) {
+            return () -> {
+            };
+        }
+        synchronized (callbacks) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return () -> {
+                    synchronized (callbacks) {
+                        callbacks.remove(callback);
+                    }
+                };
+            }
+        }
+        runQuietly(callback);
+        return () -> {
+        };
+    }
+
+    /**
+     * 将令牌绑定到当前线程, 返回的句柄关闭后恢复原绑定
+     */
+    public Registration bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * 当前线程绑定的令牌, 未绑定时返回 {@link #NONE}
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token == null ? NONE : token;
+    }
+
+    private static void runQuietly(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            // 取消回调失败不影响任务终止, 由批次间检查兜底
+        }
+    }
+
+    /**
+     * 注销句柄
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
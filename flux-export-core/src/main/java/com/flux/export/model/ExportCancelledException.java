@@ -0,0 +1,13 @@
+package com.flux.export.model;
+
+/**
+ * 导出任务已被取消
+ */
+public class ExportCancelledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ExportCancelledException() {
+        super("任务已取消");
+    }
+}
@@ -0,0 +1,81 @@
+package com.flux.export.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导出检查点
+ * <p>
+ * 断点续传模式下, 导出按段写入独立文件, 每段上传完成后保存一次检查点。
+ * 节点宕机或重启后, 其他节点从检查点的游标继续拉取, 已上传的分段不再重复生成
+ *
+ * @param taskId        任务 ID
+ * @param format        导出文件格式 ({@link com.flux.export.config.ExportFormat} 名称)
+ * @param fileBaseName  文件基础名 (不含扩展名), 恢复后分段文件名保持一致
+ * @param cursor        下一段的起始游标, 首段为 null
+ * @param rowCount      已上传分段的总行数
+ * @param partUrls      已上传分段的文件地址 (按顺序)
+ * @param completed     数据是否已全部写入 (仅剩合并分段)
+ * @param baseWatermark 增量导出的起始水位
+ * @param watermark     已写入数据的最大水位
+ * @param updateTime    最后更新时间, 执行节点定期刷新, 长时间未更新视为执行节点已失联
+ */
+public record ExportCheckpoint(
+        String taskId,
+        String format,
+        String fileBaseName,
+        String cursor,
+        long rowCount,
+        List<String> partUrls,
+        boolean completed,
+        String baseWatermark,
+        String watermark,
+        LocalDateTime updateTime) {
+
+    public ExportCheckpoint {
+        partUrls = partUrls == null ? List.of() : List.copyOf(partUrls);
+    }
+
+    /**
+     * 创建任务开始时的检查点
+     */
+    public static ExportCheckpoint start(String taskId, String format, String fileBaseName, String baseWatermark) {
+        return new ExportCheckpoint(taskId, format, fileBaseName, null, 0, List.of(), false, baseWatermark,
+                null, LocalDateTime.now());
+    }
+
+    /**
+     * 一段写入并上传完成后的检查点
+     *
+     * @param nextCursor   下一段的起始游标
+     * @param partUrl      本段文件地址, 本段无数据时为 null
+     * @param partRows     本段行数
+     * @param maxWatermark 已写入数据的最大水位
+     * @param finished     是否已无更多数据
+     */
+    public ExportCheckpoint next(String nextCursor, String partUrl, long partRows, String maxWatermark,
+            boolean finished) {
+        List<String> urls = new ArrayList<>(partUrls);
+        if (partUrl != null) {
+            urls.add(partUrl);
+        }
+        return new ExportCheckpoint(taskId, format, fileBaseName, nextCursor, rowCount + partRows, urls, finished,
+                baseWatermark, maxWatermark, LocalDateTime.now());
+    }
+
+    /**
+     * 刷新更新时间 (心跳)
+     */
+    public ExportCheckpoint touch() {
+        return new ExportCheckpoint(taskId, format, fileBaseName, cursor, rowCount, partUrls, completed,
+                baseWatermark, watermark, LocalDateTime.now());
+    }
+
+    /**
+     * 是否从中途恢复 (已有上传完成的分段)
+     */
+    public boolean isResumed() {
+        return !partUrls.isEmpty() || cursor != null;
+    }
+}
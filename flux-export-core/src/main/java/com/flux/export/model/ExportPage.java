@@ -0,0 +1,60 @@
+package com.flux.export.model;
+
+import java.util.List;
+
+/**
+ * 分批拉取的一页数据
+ *
+ * @param rows       本批数据行
+ * @param nextCursor 下一批的游标, 为 null 表示数据已全部拉取
+ * @param watermark  本批数据的最大水位值 (仅增量导出需要, 如本批最大 {@code id})
+ */
+public record ExportPage(
+        List<?> rows,
+        String nextCursor,
+        String watermark) {
+
+    /**
+     * 创建不带水位的页
+     */
+    public ExportPage(List<?> rows, String nextCursor) {
+        this(rows, nextCursor, null);
+    }
+
+    /**
+     * 创建中间页
+     */
+    public static ExportPage of(List<?> rows, String nextCursor) {
+        return new ExportPage(rows, nextCursor);
+    }
+
+    /**
+     * 创建带水位的中间页
+     */
+    public static ExportPage of(List<?> rows, String nextCursor, String watermark) {
+        return new ExportPage(rows, nextCursor, watermark);
+    }
+
+    /**
+     * 创建最后一页
+     */
+    public static ExportPage last(List<?> rows) {
+        return new ExportPage(rows, null);
+    }
+
+    /**
+     * 创建带水位的最后一页
+     */
+    public static ExportPage last(List<?> rows, String watermark) {
+        return new ExportPage(rows, null, watermark);
+    }
+
+    /**
+     * 是否还有下一批数据
+     * <p>
+     * 本批为空时同样视为结束, 避免游标未推进导致死循环
+     */
+    public boolean hasNext() {
+        return nextCursor != null && rows != null && !rows.isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.flux.export.model;
+
+import java.util.List;
+
+/**
+ * 分批拉取请求
+ *
+ * @param taskId       任务 ID
+ * @param cursor       游标, 首批为 null, 之后为上一批返回的 {@link ExportPage#nextCursor()}
+ * @param batchSize    本批最多返回的行数
+ * @param cancellation 任务取消令牌, 耗时较长的查询可注册取消回调
+ * @param watermark    增量导出的起始水位 (不含), 为 null 时导出全量数据
+ * @param watermarkKey 增量导出的水位列 ({@link com.flux.export.config.ExportConfig#watermarkKey()}),
+ *                     数据提供者据此选择过滤列, 不支持的水位列应抛出异常
+ * @param progress     进度上报, 可读取已写入行数或更新预估总行数
+ * @param columns      导出列 (VO 字段名), 为空时导出全部列; 数据提供者可据此缩小查询字段
+ */
+public record ExportPageRequest(
+        String taskId,
+        String cursor,
+        int batchSize,
+        CancellationToken cancellation,
+        String watermark,
+        String watermarkKey,
+        ProgressReporter progress,
+        List<String> columns) {
+
+    public ExportPageRequest {
+        if (cancellation == null) {
+            cancellation = CancellationToken.NONE;
+        }
+        if (progress == null) {
+            progress = ProgressReporter.NONE;
+        }
+        columns = columns == null ? List.of() : List.copyOf(columns);
+    }
+
+    /**
+     * 创建不可取消的拉取请求
+     */
+    public ExportPageRequest(String taskId, String cursor, int batchSize) {
+        this(taskId, cursor, batchSize, CancellationToken.NONE, null, null, null, null);
+    }
+
+    /**
+     * 创建全量拉取请求
+     */
+    public ExportPageRequest(String taskId, String cursor, int batchSize, CancellationToken cancellation) {
+        this(taskId, cursor, batchSize, cancellation, null, null, null, null);
+    }
+
+    /**
+     * 创建不上报进度的拉取请求
+     */
+    public ExportPageRequest(String taskId, String cursor, int batchSize, CancellationToken cancellation,
+            String watermark) {
+        this(taskId, cursor, batchSize, cancellation, watermark, null, null, null);
+    }
+
+    /**
+     * 创建导出全部列的拉取请求
+     */
+    public ExportPageRequest(String taskId, String cursor, int batchSize, CancellationToken cancellation,
+            String watermark, ProgressReporter progress) {
+        this(taskId, cursor, batchSize, cancellation, watermark, null, progress, null);
+    }
+
+    /**
+     * 创建未指定水位列的拉取请求
+     */
+    public ExportPageRequest(String taskId, String cursor, int batchSize, CancellationToken cancellation,
+            String watermark, ProgressReporter progress, List<String> columns) {
+        this(taskId, cursor, batchSize, cancellation, watermark, null, progress, columns);
+    }
+
+    /**
+     * 是否为首批请求
+     */
+    public boolean isFirst() {
+        return cursor == null;
+    }
+
+    /**
+     * 是否指定了导出列
+     */
+    public boolean hasProjection() {
+        return !columns.isEmpty();
+    }
+
+    /**
+     * 指定的 VO 字段是否需要导出
+     *
+     * @param field VO 字段名
+     */
+    public boolean includes(String field) {
+        return columns.isEmpty() || columns.contains(field);
+    }
+
+    /**
+     * 是否为增量拉取 (仅拉取水位之后的数据)
+     */
+    public boolean isIncremental() {
+        return watermark != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.flux.export.model;
+
+/**
+ * 导出进度明细
+ *
+ * @param percent       进度 (0-100)
+ * @param rowsWritten   已写入行数
+ * @param totalRows     预估总行数, 未知时为 {@link #UNKNOWN}
+ * @param rowsPerSecond 写入速率 (行/秒)
+ * @param etaSeconds    预计剩余时间 (秒), 未知时为 {@link #UNKNOWN}
+ */
+public record ExportProgress(
+        int percent,
+        long rowsWritten,
+        long totalRows,
+        double rowsPerSecond,
+        long etaSeconds) {
+
+    /** 未知的总行数或剩余时间 */
+    public static final long UNKNOWN = -1;
+
+    /**
+     * 仅包含百分比的进度
+     */
+    public static ExportProgress of(int percent) {
+        return new ExportProgress(percent, 0, UNKNOWN, 0, UNKNOWN);
+    }
+
+    /**
+     * 是否已知总行数
+     */
+    public boolean hasTotal() {
+        return totalRows >= 0;
+    }
+
+    /**
+     * 是否已知剩余时间
+     */
+    public boolean hasEta() {
+        return etaSeconds >= 0;
+    }
+}
@@ -1,21 +1,25 @@
 package com.flux.export.model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 导出任务实体
  *
- * @param taskId     任务唯一 ID
- * @param bizType    业务类型标识
- * @param userId     触发用户 ID
- * @param status     任务状态
- * @param progress   进度 (0-100)
- * @param fileUrl    文件下载地址
- * @param fileName   文件名
- * @param errorMsg   错误信息
- * @param params     请求参数对象快照
- * @param createTime 创建时间
- * @param finishTime 完成时间
+ * @param taskId         任务唯一 ID
+ * @param bizType        业务类型标识
+ * @param userId         触发用户 ID
+ * @param status         任务状态
+ * @param progress       进度 (0-100)
+ * @param fileUrl        文件下载地址
+ * @param fileName       文件名
+ * @param errorMsg       错误信息
+ * @param params         请求参数对象快照
+ * @param createTime     创建时间
+ * @param finishTime     完成时间
+ * @param progressDetail 进度明细 (已写入行数、速率、剩余时间), 未上报时为 null
+ * @param format         导出文件格式 ({@link com.flux.export.config.ExportFormat} 名称), 为 null 时使用业务配置的默认格式
+ * @param columns        导出列 (VO 字段名, 按输出顺序), 为空时导出全部列
  */
 public record ExportTask(
         String taskId,
@@ -28,11 +32,64 @@ public record ExportTask(
         String errorMsg,
         Object params,
         LocalDateTime createTime,
-        LocalDateTime finishTime) {
+        LocalDateTime finishTime,
+        ExportProgress progressDetail,
+        String format,
+        List<String> columns) {
+
+    public ExportTask {
+        columns = columns == null ? List.of() : List.copyOf(columns);
+    }
+
+    /**
+     * 创建不含进度明细的任务
+     */
+    public ExportTask(String taskId, String bizType, String userId, TaskStatus status, int progress, String fileUrl,
+            String fileName, String errorMsg, Object params, LocalDateTime createTime, LocalDateTime finishTime) {
+        this(taskId, bizType, userId, status, progress, fileUrl, fileName, errorMsg, params, createTime, finishTime,
+                null, null, null);
+    }
+
+    /**
+     * 创建不含文件格式的任务
+     */
+    public ExportTask(String taskId, String bizType, String userId, TaskStatus status, int progress, String fileUrl,
+            String fileName, String errorMsg, Object params, LocalDateTime createTime, LocalDateTime finishTime,
+            ExportProgress progressDetail) {
+        this(taskId, bizType, userId, status, progress, fileUrl, fileName, errorMsg, params, createTime, finishTime,
+                progressDetail, null, null);
+    }
+
+    /**
+     * 创建不含导出列的任务 (导出全部列)
+     */
+    public ExportTask(String taskId, String bizType, String userId, TaskStatus status, int progress, String fileUrl,
+            String fileName, String errorMsg, Object params, LocalDateTime createTime, LocalDateTime finishTime,
+            ExportProgress progressDetail, String format) {
+        this(taskId, bizType, userId, status, progress, fileUrl, fileName, errorMsg, params, createTime, finishTime,
+                progressDetail, format, null);
+    }
+
     /**
      * 创建一个新的待处理任务
      */
     public static ExportTask createPending(String taskId, String bizType, String userId, Object params) {
+        return createPending(taskId, bizType, userId, params, null);
+    }
+
+    /**
+     * 创建一个指定文件格式的待处理任务
+     */
+    public static ExportTask createPending(String taskId, String bizType, String userId, Object params,
+            String format) {
+        return createPending(taskId, bizType, userId, params, format, null);
+    }
+
+    /**
+     * 创建一个指定文件格式与导出列的待处理任务
+     */
+    public static ExportTask createPending(String taskId, String bizType, String userId, Object params,
+            String format, List<String> columns) {
         return new ExportTask(
                 taskId,
                 bizType,
@@ -44,7 +101,10 @@ public record ExportTask(
                 null,
                 params,
                 LocalDateTime.now(),
-                null);
+                null,
+                null,
+                format,
+                columns);
     }
 
     /**
@@ -52,7 +112,7 @@ public record ExportTask(
      */
     public ExportTask withProcessing() {
         return new ExportTask(taskId, bizType, userId, TaskStatus.PROCESSING, progress, fileUrl, fileName, errorMsg,
-                params, createTime, finishTime);
+                params, createTime, finishTime, progressDetail, format, columns);
     }
 
     /**
@@ -60,7 +120,15 @@ public record ExportTask(
      */
     public ExportTask withProgress(int newProgress) {
         return new ExportTask(taskId, bizType, userId, status, newProgress, fileUrl, fileName, errorMsg, params,
-                createTime, finishTime);
+                createTime, finishTime, progressDetail, format, columns);
+    }
+
+    /**
+     * 复制并更新进度明细
+     */
+    public ExportTask withProgress(ExportProgress newProgress) {
+        return new ExportTask(taskId, bizType, userId, status, newProgress.percent(), fileUrl, fileName, errorMsg,
+                params, createTime, finishTime, newProgress, format, columns);
     }
 
     /**
@@ -68,7 +136,7 @@ public record ExportTask(
      */
     public ExportTask withSuccess(String url, String name) {
         return new ExportTask(taskId, bizType, userId, TaskStatus.SUCCESS, 100, url, name, null, params, createTime,
-                LocalDateTime.now());
+                LocalDateTime.now(), progressDetail, format, columns);
     }
 
     /**
@@ -76,6 +144,6 @@ public record ExportTask(
      */
     public ExportTask withFailed(String error) {
         return new ExportTask(taskId, bizType, userId, TaskStatus.FAILED, progress, fileUrl, fileName, error, params,
-                createTime, LocalDateTime.now());
+                createTime, LocalDateTime.now(), progressDetail, format, columns);
     }
 }
@@ -0,0 +1,35 @@
+package com.flux.export.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * 增量导出水位
+ *
+ * @param value      已导出数据的最大水位值 (如最大 {@code id} 或 {@code create_time})
+ * @param fileUrl    产生该水位的导出文件地址, 可据此串联历次增量文件
+ * @param exportTime 导出完成时间
+ */
+public record ExportWatermark(
+        String value,
+        String fileUrl,
+        LocalDateTime exportTime) {
+
+    /**
+     * 比较两个水位值, 返回较大者
+     * <p>
+     * 均为整数时按数值比较, 否则按字符串比较 (要求日期时间使用统一的 ISO 格式)
+     */
+    public static String max(String a, String b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        try {
+            return Long.parseLong(a) >= Long.parseLong(b) ? a : b;
+        } catch (NumberFormatException e) {
+            return a.compareTo(b) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flux.export.model;
+
+/**
+ * 导出进度上报
+ * <p>
+ * 通过 {@link ExportPageRequest#progress()} 传给数据提供者: 可读取已写入行数,
+ * 也可在拉取过程中更新预估总行数 (如首批查询时顺带得到的总数), SDK 据此计算百分比、速率与剩余时间
+ */
+public interface ProgressReporter {
+
+    /** 不记录进度的上报器 */
+    ProgressReporter NONE = new ProgressReporter() {
+        @Override
+        public long rowsWritten() {
+            return 0;
+        }
+
+        @Override
+        public long estimatedTotal() {
+            return ExportProgress.UNKNOWN;
+        }
+
+        @Override
+        public void estimateTotal(long totalRows) {
+        }
+    };
+
+    /**
+     * 已写入行数
+     */
+    long rowsWritten();
+
+    /**
+     * 预估总行数, 未知时为 {@link ExportProgress#UNKNOWN}
+     */
+    long estimatedTotal();
+
+    /**
+     * 更新预估总行数
+     *
+     * @param totalRows 预估总行数, 负数表示未知
+     */
+    void estimateTotal(long totalRows);
+}
@@ -11,5 +11,7 @@ public enum TaskStatus {
     /** 成功 */
     SUCCESS,
     /** 失败 */
-    FAILED
+    FAILED,
+    /** 已取消 */
+    CANCELLED
 }
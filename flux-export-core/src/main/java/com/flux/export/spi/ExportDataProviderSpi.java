@@ -0,0 +1,52 @@
+package com.flux.export.spi;
+
+import com.flux.export.model.ExportPage;
+import com.flux.export.model.ExportPageRequest;
+
+/**
+ * 分批数据提供者 SPI 接口
+ * <p>
+ * 业务方法一次性返回 {@code List} 时, 全部数据需常驻内存直到 Excel 生成完毕。
+ * 百万级导出应实现此接口, SDK 将按 {@link com.flux.export.config.ExportConfig#batchSize()}
+ * 分批拉取, 每批写入后即释放, 内存占用与总行数无关。
+ * <p>
+ * 注册方式不变: {@code ExportConfig.beanName} 指向的 Bean 实现此接口即可,
+ * 此时 {@code methodName} 不再被使用。
+ * <p>
+ * <b>游标建议</b>: 优先使用基于主键的游标 (如 {@code WHERE id > ? ORDER BY id LIMIT ?}),
+ * 避免深度 {@code OFFSET} 分页随页数线性变慢。
+ *
+ * @param <P> 参数类型, 与 {@code ExportConfig.paramType} 一致
+ */
+public interface ExportDataProviderSpi<P> {
+
+    /**
+     * 导出数据的 VO 类型 (用于生成表头)
+     *
+     * @return VO 类型
+     */
+    Class<?> dataClass();
+
+    /**
+     * 拉取一批数据
+     *
+     * @param params  已校验的参数对象
+     * @param request 分批请求 (游标、批次大小)
+     * @return 本批数据及下一批游标
+     */
+    ExportPage fetchPage(P params, ExportPageRequest request);
+
+    /**
+     * 预估导出总行数（可选实现）
+     * <p>
+     * 导出开始前调用一次 (分片导出时每个分片调用一次), 用于计算进度百分比与剩余时间。
+     * 预估值无需精确, 但应足够廉价 (如带相同过滤条件的 {@code COUNT}, 或表统计信息)
+     *
+     * @param params  已校验的参数对象
+     * @param request 首批拉取请求 (增量导出时携带起始水位)
+     * @return 预估总行数, 未知时返回负数
+     */
+    default long estimateTotal(P params, ExportPageRequest request) {
+        return -1;
+    }
+}
@@ -1,9 +1,19 @@
 package com.flux.export.spi;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * 文件存储 SPI 接口
  * <p>
  * 接入方需实现此接口，将生成的 Excel 文件上传到指定存储（如 OSS、S3、本地磁盘等）
+ * <p>
+ * 只需实现 {@link #upload(String, byte[])} 即可接入; 大文件场景建议同时实现流式上传
+ * {@link #upload(String, InputStream, long)}, 以及分片上传 {@link #createMultipartUpload(String)},
+ * 使上传与文件生成并行进行
  */
 public interface FileStorageSpi {
 
@@ -16,6 +26,83 @@ public interface FileStorageSpi {
      */
     String upload(String fileName, byte[] fileContent);
 
+    /**
+     * 流式上传文件
+     * <p>
+     * 默认实现读取全部内容后桥接到 {@link #upload(String, byte[])}, 建议覆盖为真正的流式实现
+     *
+     * @param fileName      文件名
+     * @param inputStream   文件内容流（由调用方关闭）
+     * @param contentLength 内容长度（字节）
+     * @return 文件下载 URL
+     */
+    default String upload(String fileName, InputStream inputStream, long contentLength) {
+        try {
+            return upload(fileName, inputStream.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取上传内容失败: " + fileName, e);
+        }
+    }
+
+    /**
+     * 上传本地文件
+     * <p>
+     * 默认实现打开文件流并委托给 {@link #upload(String, InputStream, long)}
+     *
+     * @param fileName 文件名
+     * @param file     本地文件路径（上传后由调用方删除）
+     * @return 文件下载 URL
+     */
+    default String upload(String fileName, Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return upload(fileName, inputStream, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取本地文件失败: " + file, e);
+        }
+    }
+
+    /**
+     * 是否支持分片上传
+     *
+     * @return 是否支持
+     */
+    default boolean supportsMultipartUpload() {
+        return false;
+    }
+
+    /**
+     * 开始一次分片上传（可选实现）
+     * <p>
+     * SDK 会在文件生成过程中按顺序上传分片, 生成结束后调用 {@link MultipartUpload#complete()}
+     *
+     * @param fileName 文件名
+     * @return 分片上传会话
+     */
+    default MultipartUpload createMultipartUpload(String fileName) {
+        throw new UnsupportedOperationException("当前存储不支持分片上传");
+    }
+
+    /**
+     * 是否支持下载已上传的文件
+     *
+     * @return 是否支持
+     */
+    default boolean supportsDownload() {
+        return false;
+    }
+
+    /**
+     * 下载已上传的文件（可选实现）
+     * <p>
+     * 断点续传模式下用于将已上传的分段打包为最终文件
+     *
+     * @param fileUrl 文件 URL
+     * @return 文件内容流（由调用方关闭）
+     */
+    default InputStream download(String fileUrl) {
+        throw new UnsupportedOperationException("当前存储不支持下载");
+    }
+
     /**
      * 删除文件（可选实现）
      *
@@ -24,4 +111,4 @@ public interface FileStorageSpi {
     default void delete(String fileUrl) {
         // 默认空实现
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.flux.export.spi;
+
+/**
+ * 分片上传会话
+ * <p>
+ * 由 {@link FileStorageSpi#createMultipartUpload(String)} 创建。SDK 保证分片按编号递增顺序、
+ * 串行地上传, 同一会话不会并发调用
+ */
+public interface MultipartUpload {
+
+    /**
+     * 上传一个分片
+     *
+     * @param partNumber 分片编号（从 1 开始）
+     * @param data       分片数据缓冲区（方法返回后会被复用, 实现方不可持有引用）
+     * @param length     有效数据长度
+     */
+    void uploadPart(int partNumber, byte[] data, int length);
+
+    /**
+     * 完成上传, 合并全部分片
+     *
+     * @return 文件下载 URL
+     */
+    String complete();
+
+    /**
+     * 放弃上传, 清理已上传的分片
+     */
+    void abort();
+}
@@ -40,6 +40,20 @@ public interface ResponseWrapperSpi {
      */
     Object wrapError(String errorMsg, int httpStatus);
 
+    /**
+     * 包装 429 过载响应
+     * <p>
+     * 当节点过载、导出任务被准入控制拒绝时返回。默认实现委托给 {@link #wrapError(String, int)},
+     * 建议覆盖以携带 {@code Retry-After} 响应头。
+     *
+     * @param errorMsg          错误信息
+     * @param retryAfterSeconds 建议客户端重试的等待秒数
+     * @return 包装后的 429 响应对象
+     */
+    default Object wrapTooManyRequests(String errorMsg, long retryAfterSeconds) {
+        return wrapError(errorMsg, 429);
+    }
+
     /**
      * 包装 404 响应
      * <p>
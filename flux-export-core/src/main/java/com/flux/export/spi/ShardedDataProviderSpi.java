@@ -0,0 +1,28 @@
+package com.flux.export.spi;
+
+import java.util.List;
+
+/**
+ * 可分片的数据提供者 SPI 接口
+ * <p>
+ * 配置了分片键 ({@link com.flux.export.config.ExportConfig#withSharding}) 的导出,
+ * SDK 会先调用 {@link #split} 将一次导出拆分为多个互不重叠的子范围,
+ * 再并行拉取各子范围, 以利用多核与多个数据库连接。
+ *
+ * @param <P> 参数类型, 与 {@code ExportConfig.paramType} 一致
+ */
+public interface ShardedDataProviderSpi<P> extends ExportDataProviderSpi<P> {
+
+    /**
+     * 按分片键拆分参数
+     * <p>
+     * 返回的每个参数对象对应一个子范围 (如 id 区间、create_time 区间), 子范围之间不得重叠,
+     * 合起来应覆盖原参数的全部数据。返回数量可以少于 {@code shardCount} (如数据量很少时)。
+     *
+     * @param params     已校验的参数对象
+     * @param shardKey   分片键 (由 {@code ExportConfig.shardKey} 声明)
+     * @param shardCount 期望的分片数
+     * @return 各分片的参数对象
+     */
+    List<P> split(P params, String shardKey, int shardCount);
+}
@@ -1,8 +1,12 @@
 package com.flux.export.spi;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.flux.export.model.ExportCheckpoint;
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.ExportTask;
 
 /**
@@ -29,11 +33,25 @@ public interface TaskPersistenceSpi {
      */
     void updateProgress(String taskId, int progress);
 
+    /**
+     * 更新任务进度明细
+     * <p>
+     * 写入阶段按 {@code flux-export.progress.report-interval-ms} 节流调用。
+     * 默认实现仅保存百分比, 覆盖后可持久化已写入行数、速率与剩余时间,
+     * 查询时通过 {@link ExportTask#progressDetail()} 返回
+     *
+     * @param taskId   任务 ID
+     * @param progress 进度明细
+     */
+    default void updateProgress(String taskId, ExportProgress progress) {
+        updateProgress(taskId, progress.percent());
+    }
+
     /**
      * 更新任务状态为成功
      *
      * @param taskId  任务 ID
-     * @param fileUrl 文件下载地址
+     * @param fileUrl 文件下载地址, 增量导出自上次导出后无新增数据时为 null (不生成文件)
      */
     void markSuccess(String taskId, String fileUrl);
 
@@ -45,6 +63,17 @@ public interface TaskPersistenceSpi {
      */
     void markFailed(String taskId, String errorMsg);
 
+    /**
+     * 更新任务状态为已取消
+     * <p>
+     * 默认实现记为失败, 建议覆盖为独立的 {@link com.flux.export.model.TaskStatus#CANCELLED} 状态
+     *
+     * @param taskId 任务 ID
+     */
+    default void markCancelled(String taskId) {
+        markFailed(taskId, "任务已取消");
+    }
+
     /**
      * 根据 任务 ID 查询任务
      *
@@ -61,4 +90,80 @@ public interface TaskPersistenceSpi {
      * @return 任务列表
      */
     List<ExportTask> findByUserId(String userId, int limit);
+
+    /**
+     * 保存导出检查点（可选实现）
+     * <p>
+     * 断点续传模式下, 任务开始时、每段上传完成后以及执行期间定期 (心跳) 调用。
+     * 实现方需同时记录 {@link ExportCheckpoint#updateTime()}, 用于判断执行节点是否失联
+     *
+     * @param checkpoint 检查点
+     */
+    default void saveCheckpoint(ExportCheckpoint checkpoint) {
+        // 默认不保存, 任务不可恢复
+    }
+
+    /**
+     * 查询任务的检查点（可选实现）
+     *
+     * @param taskId 任务 ID
+     * @return 检查点
+     * @throws RuntimeException 检查点存在但无法读取 (如内容损坏), SDK 将任务标记为失败并删除检查点
+     */
+    default Optional<ExportCheckpoint> findCheckpoint(String taskId) {
+        return Optional.empty();
+    }
+
+    /**
+     * 删除任务的检查点（可选实现）
+     * <p>
+     * 任务成功、失败或取消后调用
+     *
+     * @param taskId 任务 ID
+     */
+    default void deleteCheckpoint(String taskId) {
+        // 默认空实现
+    }
+
+    /**
+     * 刷新执行中任务的心跳时间（可选实现）
+     * <p>
+     * 任务开始执行时及执行期间定期调用 (断点续传任务的心跳通过 {@link #saveCheckpoint} 刷新)。
+     * 实现方记录与 {@link ExportCheckpoint#updateTime()} 相同含义的更新时间, 使执行节点失联后
+     * {@link #findInterruptedTasks} 也能查到未启用断点续传的任务
+     *
+     * @param taskIds 本节点执行中的任务 ID
+     * @param time    心跳时间
+     */
+    default void heartbeat(Collection<String> taskIds, LocalDateTime time) {
+        // 默认不记录
+    }
+
+    /**
+     * 查询执行节点已失联的任务（可选实现）
+     * <p>
+     * 即状态为处理中、检查点 (或心跳) 在 {@code staleBefore} 之后未再更新的任务。
+     * 存在检查点的任务从检查点继续, 否则标记为失败
+     *
+     * @param staleBefore 检查点更新时间早于此时间视为失联
+     * @param limit       限制数量
+     * @return 任务列表
+     */
+    default List<ExportTask> findInterruptedTasks(LocalDateTime staleBefore, int limit) {
+        return List.of();
+    }
+
+    /**
+     * 接管失联任务（可选实现）
+     * <p>
+     * 需为原子操作: 仅当检查点更新时间仍早于 {@code staleBefore} 时刷新更新时间并返回 true,
+     * 保证多个节点同时扫描时只有一个节点恢复该任务
+     *
+     * @param taskId      任务 ID
+     * @param staleBefore 失联判定时间
+     * @return 是否接管成功
+     */
+    default boolean claimInterruptedTask(String taskId, LocalDateTime staleBefore) {
+        return false;
+    }
 }
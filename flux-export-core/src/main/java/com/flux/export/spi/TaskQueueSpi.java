@@ -0,0 +1,53 @@
+package com.flux.export.spi;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.flux.export.model.ExportTask;
+
+/**
+ * 分布式任务队列 SPI 接口（可选）
+ * <p>
+ * 默认 ({@code flux-export.queue.mode=local}) 任务在接收请求的节点本地排队执行。
+ * 设置为 {@code external} 并提供此接口的实现后, 提交仅创建待处理任务记录, 各节点按空闲线程数从共享队列领取任务:
+ * 领取时加租约, 执行期间定期续约; 节点宕机后租约过期, 任务由其他节点重新领取 (存在检查点时从检查点继续)
+ * <p>
+ * 实现需保证同一任务同一时刻只被一个节点领取, 如数据库的 {@code SELECT ... FOR UPDATE SKIP LOCKED}
+ */
+public interface TaskQueueSpi {
+
+    /**
+     * 领取任务
+     * <p>
+     * 领取待处理任务及租约已过期的处理中任务, 将其标记为处理中并设置租约
+     *
+     * @param workerId      领取节点标识
+     * @param limit         最多领取数量
+     * @param leaseDuration 租约时长
+     * @return 领取到的任务 (需包含参数快照与文件格式)
+     */
+    List<ExportTask> claim(String workerId, int limit, Duration leaseDuration);
+
+    /**
+     * 为执行中的任务续约
+     *
+     * @param workerId      领取节点标识
+     * @param taskIds       本节点执行中的任务
+     * @param leaseDuration 租约时长
+     * @return 已不再由本节点持有的任务 (已被取消、已结束或租约已被其他节点领取), 本节点应停止执行
+     */
+    Set<String> renew(String workerId, Collection<String> taskIds, Duration leaseDuration);
+
+    /**
+     * 统计待处理 (尚未被任何节点领取) 的任务数
+     * <p>
+     * 外部队列模式下用于准入控制的排队任务数判断, SDK 会短暂缓存结果; 默认返回 0, 即不按排队任务数拒绝
+     *
+     * @return 待处理任务数
+     */
+    default long countPending() {
+        return 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.flux.export.spi;
+
+import java.util.Optional;
+
+import com.flux.export.model.ExportWatermark;
+
+/**
+ * 增量导出水位存储 SPI 接口
+ * <p>
+ * 按 "用户 + 业务类型" 记录上次成功导出的水位。默认实现保存在内存中, 重启后丢失 (下一次导出为全量);
+ * 生产环境建议持久化到数据库
+ */
+public interface WatermarkStoreSpi {
+
+    /**
+     * 查询上次导出的水位
+     *
+     * @param userId  用户 ID
+     * @param bizType 业务类型
+     * @return 水位 (首次导出时为空)
+     */
+    Optional<ExportWatermark> find(String userId, String bizType);
+
+    /**
+     * 保存本次导出的水位
+     *
+     * @param userId    用户 ID
+     * @param bizType   业务类型
+     * @param watermark 水位
+     */
+    void save(String userId, String bizType, ExportWatermark watermark);
+}
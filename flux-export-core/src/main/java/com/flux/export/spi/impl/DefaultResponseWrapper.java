@@ -1,5 +1,7 @@
 package com.flux.export.spi.impl;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -36,6 +38,14 @@ public class DefaultResponseWrapper implements ResponseWrapperSpi {
         return ResponseEntity.status(httpStatus).body(errorResponse);
     }
 
+    @Override
+    public Object wrapTooManyRequests(String errorMsg, long retryAfterSeconds) {
+        ExportResponse errorResponse = new ExportResponse(null, null, 0, null, errorMsg, errorMsg);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
     @Override
     public Object wrapNotFound() {
         return ResponseEntity.notFound().build();
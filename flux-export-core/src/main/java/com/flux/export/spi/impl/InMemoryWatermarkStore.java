@@ -0,0 +1,35 @@
+package com.flux.export.spi.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.flux.export.model.ExportWatermark;
+import com.flux.export.spi.WatermarkStoreSpi;
+
+/**
+ * 默认水位存储
+ * <p>
+ * 保存在内存中, 仅适用于单节点与演示。如需持久化, 提供自定义 {@code WatermarkStoreSpi} 实现并标注 {@code @Primary}
+ */
+@Component
+public class InMemoryWatermarkStore implements WatermarkStoreSpi {
+
+    private final Map<String, ExportWatermark> watermarks = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<ExportWatermark> find(String userId, String bizType) {
+        return Optional.ofNullable(watermarks.get(key(userId, bizType)));
+    }
+
+    @Override
+    public void save(String userId, String bizType, ExportWatermark watermark) {
+        watermarks.put(key(userId, bizType), watermark);
+    }
+
+    private static String key(String userId, String bizType) {
+        return userId + ":" + bizType;
+    }
+}
@@ -0,0 +1,275 @@
+package com.flux.export.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+
+/**
+ * 原生 XLSX 写入器的往返测试: 经 {@link XlsxStreamWriter} 写出, 再用 POI 读回校验值、单元格类型与格式
+ */
+class XlsxStreamWriterTest {
+
+    /** 首尾空白、需转义的字符、非法控制字符、代理对与孤立代理字符 */
+    private static final String RAW_REMARK = " a<b>&\"c\"\u0001\t😀\uD800z ";
+    private static final String CLEAN_REMARK = " a<b>&\"c\"\t😀z ";
+
+    enum Region {
+        EAST, WEST
+    }
+
+    static class OrderRow {
+
+        @ExcelProperty("订单号")
+        private String orderNo;
+        @ExcelProperty("状态")
+        private String status;
+        @ExcelProperty("区域")
+        private Region region;
+        @ExcelProperty("数量")
+        private long quantity;
+        @ExcelProperty("单价")
+        private double price;
+        @ExcelProperty("金额")
+        @NumberFormat("#,##0.00")
+        private BigDecimal amount;
+        @ExcelProperty("费率")
+        private Float rate;
+        @ExcelProperty("已支付")
+        private Boolean paid;
+        @ExcelProperty("下单日期")
+        private LocalDate orderDate;
+        @ExcelProperty("创建时间")
+        @DateTimeFormat("yyyy/MM/dd HH:mm")
+        private LocalDateTime createdAt;
+        @ExcelProperty("备注 <remark>")
+        private String remark;
+
+        OrderRow(int i) {
+            orderNo = "NO-" + i;
+            status = i % 2 == 0 ? "PAID" : "UNPAID";
+            region = i % 2 == 0 ? Region.EAST : Region.WEST;
+            quantity = i;
+            price = i + 0.25;
+            amount = new BigDecimal("1234.5").add(BigDecimal.valueOf(i));
+            rate = 0.1f;
+            paid = i % 2 == 0;
+            orderDate = LocalDate.of(2024, 1, 15);
+            createdAt = LocalDateTime.of(2024, 1, 15, 8, 30, 15);
+            remark = RAW_REMARK;
+        }
+    }
+
+    /** 28 列, 覆盖 Z 之后的列名 (AA, AB) */
+    static class WideRow {
+
+        private int c01, c02, c03, c04, c05, c06, c07, c08, c09, c10, c11, c12, c13, c14;
+        private int c15, c16, c17, c18, c19, c20, c21, c22, c23, c24, c25, c26, c27, c28;
+
+        WideRow() {
+            c01 = 1;
+            c26 = 26;
+            c27 = 27;
+            c28 = 28;
+        }
+    }
+
+    static class DateRow {
+
+        @ExcelProperty("日期")
+        private LocalDate date;
+
+        DateRow(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    @Test
+    void writesValuesTypesAndFormats() throws IOException {
+        List<OrderRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            rows.add(new OrderRow(i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxStreamWriter writer = newWriter(out, 3, List.of("status"));
+        writer.write(OrderRow.class, rows.subList(0, 4));
+        writer.write(OrderRow.class, rows.subList(4, 7));
+        writer.close();
+
+        assertThat(writer.getRowCount()).isEqualTo(7);
+        assertThat(writer.getSheetCount()).isEqualTo(3);
+        try (XSSFWorkbook workbook = read(out)) {
+            // 每个 Sheet 3 行: 3 + 3 + 1
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            assertThat(workbook.getSheetName(2)).isEqualTo("Sheet3");
+            assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(3);
+            assertThat(workbook.getSheetAt(2).getLastRowNum()).isEqualTo(1);
+
+            XSSFSheet sheet = workbook.getSheetAt(1);
+            XSSFRow head = sheet.getRow(0);
+            assertThat(head.getCell(0).getStringCellValue()).isEqualTo("订单号");
+            assertThat(head.getCell(10).getStringCellValue()).isEqualTo("备注 <remark>");
+            assertThat(head.getCell(0).getCellStyle().getFont().getBold()).isTrue();
+
+            // 第 2 个 Sheet 的第一行数据为第 4 行
+            XSSFRow row = sheet.getRow(1);
+            assertThat(row.getCell(0).getStringCellValue()).isEqualTo("NO-4");
+            assertThat(row.getCell(1).getStringCellValue()).isEqualTo("PAID");
+            assertThat(row.getCell(2).getStringCellValue()).isEqualTo("EAST");
+            assertNumeric(row.getCell(3), 4);
+            assertNumeric(row.getCell(4), 4.25);
+            assertNumeric(row.getCell(5), 1238.5);
+            assertNumeric(row.getCell(6), 0.1);
+            assertThat(row.getCell(7).getCellType()).isEqualTo(CellType.BOOLEAN);
+            assertThat(row.getCell(7).getBooleanCellValue()).isTrue();
+            assertNumeric(row.getCell(8), 45_306);
+            assertNumeric(row.getCell(9), 45_306 + (8 * 3600 + 30 * 60 + 15) / 86_400d);
+            assertThat(row.getCell(10).getStringCellValue()).isEqualTo(CLEAN_REMARK);
+
+            // 格式按首次使用的顺序登记: cellXfs 0 默认, 1 表头, 其后依次为各格式
+            assertThat(row.getCell(3).getCellStyle().getIndex()).isZero();
+            assertFormat(row.getCell(5), 2, 164, "#,##0.00");
+            assertFormat(row.getCell(8), 3, 165, "yyyy-MM-dd");
+            assertFormat(row.getCell(9), 4, 166, "yyyy/MM/dd HH:mm");
+        }
+    }
+
+    @Test
+    void writesLowCardinalityColumnsToSharedStrings() throws IOException {
+        List<OrderRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            rows.add(new OrderRow(i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 未声明的列新增 2 个不同值后视为高基数
+        XlsxStreamWriter writer = new XlsxStreamWriter(out, 4, List.of("orderNo", "status", "region"), -1,
+                new SharedStrings(100, 2, List.of("status")));
+        writer.write(OrderRow.class, rows);
+        writer.close();
+
+        try (XSSFWorkbook workbook = read(out)) {
+            // 字典按首次出现的顺序: NO-1, UNPAID, WEST, NO-2, PAID, EAST
+            assertThat(workbook.getSharedStringSource().getUniqueCount()).isEqualTo(6);
+            assertThat(workbook.getSharedStringSource().getCount()).isEqualTo(14);
+            assertThat(workbook.getSharedStringSource().getItemAt(1).getString()).isEqualTo("UNPAID");
+            assertThat(workbook.getSharedStringSource().getItemAt(4).getString()).isEqualTo("PAID");
+
+            XSSFSheet first = workbook.getSheetAt(0);
+            assertShared(first.getRow(1).getCell(0), "NO-1", 0);
+            assertShared(first.getRow(2).getCell(0), "NO-2", 3);
+            assertInline(first.getRow(3).getCell(0), "NO-3");
+            assertShared(first.getRow(3).getCell(1), "UNPAID", 1);
+            assertShared(first.getRow(4).getCell(2), "EAST", 5);
+
+            // 换 Sheet 后继续引用同一字典
+            XSSFSheet second = workbook.getSheetAt(1);
+            assertInline(second.getRow(1).getCell(0), "NO-5");
+            assertShared(second.getRow(1).getCell(1), "UNPAID", 1);
+            assertShared(second.getRow(2).getCell(1), "PAID", 4);
+            assertShared(second.getRow(2).getCell(2), "EAST", 5);
+        }
+    }
+
+    @Test
+    void namesColumnsBeyondZ() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxStreamWriter writer = newWriter(out, 0, List.of());
+        writer.write(WideRow.class, List.of(new WideRow()));
+        writer.close();
+
+        try (XSSFWorkbook workbook = read(out)) {
+            XSSFRow row = workbook.getSheetAt(0).getRow(1);
+            assertThat(row.getLastCellNum()).isEqualTo((short) 28);
+            assertThat(row.getCell(25).getReference()).isEqualTo("Z2");
+            assertThat(row.getCell(26).getReference()).isEqualTo("AA2");
+            assertThat(row.getCell(27).getReference()).isEqualTo("AB2");
+            assertNumeric(row.getCell(0), 1);
+            assertNumeric(row.getCell(25), 26);
+            assertNumeric(row.getCell(26), 27);
+            assertNumeric(row.getCell(27), 28);
+            assertThat(workbook.getSheetAt(0).getRow(0).getCell(27).getStringCellValue()).isEqualTo("c28");
+        }
+    }
+
+    @Test
+    void writesDatesBefore19000301AsText() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxStreamWriter writer = newWriter(out, 0, List.of());
+        writer.write(DateRow.class, List.of(new DateRow(LocalDate.of(1900, 2, 28)),
+                new DateRow(LocalDate.of(1900, 3, 1)), new DateRow(LocalDate.of(1970, 1, 1))));
+        writer.close();
+
+        try (XSSFWorkbook workbook = read(out)) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(1).getCell(0).getCellType()).isEqualTo(CellType.STRING);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("1900-02-28");
+            assertNumeric(sheet.getRow(2).getCell(0), 61);
+            assertFormat(sheet.getRow(2).getCell(0), 2, 164, "yyyy-MM-dd");
+            assertNumeric(sheet.getRow(3).getCell(0), 25_569);
+        }
+    }
+
+    @Test
+    void escapesTextAndWritesDecimals() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlByteWriter xml = new XmlByteWriter(out, 64);
+        xml.text(RAW_REMARK).ascii("|").decimal(61.5, 10).ascii("|").decimal(45_306.354340277777, 10)
+                .ascii("|").decimal(2.0, 10).ascii("|").decimal(0.0000000001, 10).ascii("|").number(-42)
+                .ascii("|").number(Long.MIN_VALUE);
+        xml.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(" a&lt;b&gt;&amp;&quot;c&quot;\t😀z |"
+                + "61.5|45306.3543402778|2|0.0000000001|-42|" + Long.MIN_VALUE);
+    }
+
+    private static XlsxStreamWriter newWriter(ByteArrayOutputStream out, int maxRowsPerSheet,
+            List<String> sharedColumns) {
+        return new XlsxStreamWriter(out, maxRowsPerSheet, List.of(), -1, new SharedStrings(100, 10, sharedColumns));
+    }
+
+    private static XSSFWorkbook read(ByteArrayOutputStream out) throws IOException {
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertNumeric(XSSFCell cell, double expected) {
+        assertThat(cell.getCellType()).isEqualTo(CellType.NUMERIC);
+        assertThat(cell.getNumericCellValue()).isCloseTo(expected, within(1e-9));
+    }
+
+    private static void assertFormat(XSSFCell cell, int styleIndex, int formatId, String pattern) {
+        assertThat(cell.getCellStyle().getIndex()).isEqualTo((short) styleIndex);
+        assertThat(cell.getCellStyle().getDataFormat()).isEqualTo((short) formatId);
+        assertThat(cell.getCellStyle().getDataFormatString()).isEqualTo(pattern);
+    }
+
+    private static void assertShared(XSSFCell cell, String text, int index) {
+        assertThat(cell.getCTCell().getT()).isEqualTo(STCellType.S);
+        assertThat(cell.getCTCell().getV()).isEqualTo(Integer.toString(index));
+        assertThat(cell.getStringCellValue()).isEqualTo(text);
+    }
+
+    private static void assertInline(XSSFCell cell, String text) {
+        assertThat(cell.getCTCell().getT()).isEqualTo(STCellType.INLINE_STR);
+        assertThat(cell.getStringCellValue()).isEqualTo(text);
+    }
+}
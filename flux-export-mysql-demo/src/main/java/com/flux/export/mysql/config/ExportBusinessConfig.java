@@ -2,6 +2,9 @@ package com.flux.export.mysql.config;
 
 import com.flux.export.config.ExportConfig;
 import com.flux.export.config.ExportConfigRegistry;
+import com.flux.export.config.ExportFormat;
+import com.flux.export.config.ShardMode;
+import com.flux.export.mysql.demo.OrderService;
 import com.flux.export.mysql.pojo.params.OrderParams;
 import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
@@ -21,12 +24,45 @@ public class ExportBusinessConfig {
     public void registerExportConfigs() {
 
         // 示例 1: 订单导出 - 使用自定义权限校验器
+        // orderService 实现了 ExportDataProviderSpi, SDK 将按批次分页拉取
+        // 订单状态只有少数几种取值, 声明为低基数列写入 XLSX 共享字符串表; 订单号等高基数列写为内联字符串
         ExportConfigRegistry.register(new ExportConfig(
                 "ORDER_EXPORT", // 业务类型
                 "orderService", // Service Bean 名称
                 "queryOrders", // 方法名
                 OrderParams.class, // 参数类型
-                "orderService" // 自定义权限校验器 Bean 名称
-        ));
+                "orderService", // 自定义权限校验器 Bean 名称
+                5000 // 每批拉取行数
+        ).withSharedStrings("status"));
+
+        // 示例 2: 大订单导出 - 按主键区间拆成 4 个分片并行拉取, 合并为一个工作簿
+        ExportConfigRegistry.register(new ExportConfig(
+                "ORDER_EXPORT_SHARDED",
+                "orderService",
+                "queryOrders",
+                OrderParams.class,
+                "orderService",
+                5000
+        ).withSharding(OrderService.SHARD_KEY_ID, 4, ShardMode.SINGLE_WORKBOOK));
+
+        // 示例 3: 订单增量导出 - 以主键为水位, 每次只导出上次导出之后新增的订单 (CSV, 供下游系统定时同步)
+        ExportConfigRegistry.register(new ExportConfig(
+                "ORDER_EXPORT_INCREMENTAL",
+                "orderService",
+                "queryOrders",
+                OrderParams.class,
+                "orderService",
+                5000
+        ).withWatermark(OrderService.WATERMARK_KEY_ID).withFormat(ExportFormat.CSV));
+
+        // 示例 4: 订单全量归档 - 每 20 万行上传一段并保存检查点, 节点重启后由任一节点从检查点继续
+        ExportConfigRegistry.register(new ExportConfig(
+                "ORDER_EXPORT_RESUMABLE",
+                "orderService",
+                "queryOrders",
+                OrderParams.class,
+                "orderService",
+                5000
+        ).withCheckpoint(200_000));
     }
 }
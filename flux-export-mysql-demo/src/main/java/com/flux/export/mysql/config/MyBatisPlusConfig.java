@@ -31,4 +31,12 @@ public class MyBatisPlusConfig {
         
         return interceptor;
     }
+    
+    /**
+     * 导出任务取消时中断正在执行的查询
+     */
+    @Bean
+    public StatementCancelInterceptor statementCancelInterceptor() {
+        return new StatementCancelInterceptor();
+    }
 }
@@ -0,0 +1,51 @@
+package com.flux.export.mysql.config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.flux.export.model.CancellationToken;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 查询取消拦截器
+ * <p>
+ * SDK 拉取导出数据时会将任务的取消令牌绑定到当前线程, 此拦截器在查询执行期间
+ * 注册 {@link Statement#cancel()} 回调, 用户取消任务后 MySQL 立即终止查询并释放连接,
+ * 无需等待长查询自然结束。非导出线程上的查询不受影响
+ * @author FluxExport Demo
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class})
+})
+public class StatementCancelInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        CancellationToken token = CancellationToken.current();
+        if (token == CancellationToken.NONE) {
+            return invocation.proceed();
+        }
+        Statement statement = (Statement) invocation.getArgs()[0];
+        try (CancellationToken.Registration registration = token.onCancel(() -> cancel(statement))) {
+            return invocation.proceed();
+        }
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+            log.info("Cancelled running export query");
+        } catch (SQLException e) {
+            log.warn("Failed to cancel export query", e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.flux.export.mysql.converter;
 
+import java.util.List;
+
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.TaskStatus;
 import com.flux.export.mysql.pojo.entity.ExportTaskEntity;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -42,6 +45,8 @@ public class ExportTaskConverter {
                 .params(serializeParams(coreTask.params()))
                 .createTime(coreTask.createTime())
                 .finishTime(coreTask.finishTime())
+                .format(coreTask.format())
+                .exportColumns(coreTask.columns().isEmpty() ? null : String.join(",", coreTask.columns()))
                 .build();
     }
 
@@ -68,7 +73,35 @@ public class ExportTaskConverter {
                 demoTask.getErrorMsg(),
                 deserializeParams(demoTask.getParams()),
                 demoTask.getCreateTime(),
-                demoTask.getFinishTime());
+                demoTask.getFinishTime(),
+                toProgressDetail(demoTask),
+                demoTask.getFormat(),
+                parseColumns(demoTask.getExportColumns()));
+    }
+
+    /**
+     * 组装进度明细, 未上报过行数时返回 null
+     */
+    private static ExportProgress toProgressDetail(ExportTaskEntity demoTask) {
+        if (demoTask.getRowsWritten() == null) {
+            return null;
+        }
+        return new ExportProgress(
+                demoTask.getProgress() != null ? demoTask.getProgress() : 0,
+                demoTask.getRowsWritten(),
+                demoTask.getTotalRows() != null ? demoTask.getTotalRows() : ExportProgress.UNKNOWN,
+                demoTask.getRowsPerSecond() != null ? demoTask.getRowsPerSecond() : 0,
+                demoTask.getEtaSeconds() != null ? demoTask.getEtaSeconds() : ExportProgress.UNKNOWN);
+    }
+
+    /**
+     * 解析逗号分隔的导出列
+     */
+    private static List<String> parseColumns(String columns) {
+        if (columns == null || columns.isBlank()) {
+            return List.of();
+        }
+        return List.of(columns.split(","));
     }
 
     /**
@@ -1,12 +1,22 @@
 package com.flux.export.mysql.demo;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.flux.export.model.ExportPage;
+import com.flux.export.model.ExportPageRequest;
 import com.flux.export.spi.PermissionCheckerSpi;
+import com.flux.export.spi.ShardedDataProviderSpi;
 import com.flux.export.mysql.mapper.OrderMapper;
 import com.flux.export.mysql.pojo.entity.OrderEntity;
 import com.flux.export.mysql.pojo.params.OrderParams;
@@ -17,11 +27,39 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * 订单导出示例
+ * <p>
+ * 实现 {@link ShardedDataProviderSpi}, SDK 按主键游标分批拉取订单, 百万级导出内存占用保持平稳;
+ * 支持按 {@code id} 或 {@code create_time} 区间分片并行导出;
+ * 增量导出支持以 {@code id} 或 {@code create_time} 为水位
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class OrderService implements PermissionCheckerSpi {
+public class OrderService implements PermissionCheckerSpi, ShardedDataProviderSpi<OrderParams> {
+
+    /** 分片键: 主键区间 */
+    public static final String SHARD_KEY_ID = "id";
+
+    /** 分片键: 创建时间区间 */
+    public static final String SHARD_KEY_CREATE_TIME = "create_time";
+
+    /** 水位列: 主键 */
+    public static final String WATERMARK_KEY_ID = "id";
+
+    /** 水位列: 创建时间 */
+    public static final String WATERMARK_KEY_CREATE_TIME = "create_time";
+
+    /** 时间水位的格式 (定长, 按字符串比较即按时间比较) */
+    private static final DateTimeFormatter WATERMARK_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    /** 导出列 (OrderVO 字段) -> 查询列, 指定导出列时只查询这些列 */
+    private static final Map<String, SFunction<OrderEntity, ?>> VO_COLUMNS = Map.of(
+            "orderId", OrderEntity::getOrderNo,
+            "productName", OrderEntity::getProductName,
+            "amount", OrderEntity::getAmount,
+            "status", OrderEntity::getStatus,
+            "createTime", OrderEntity::getCreateTime);
 
     private final OrderMapper orderMapper;
 
@@ -31,6 +69,163 @@ public class OrderService implements PermissionCheckerSpi {
     public List<OrderVO> queryOrders(OrderParams params) {
         log.info("从数据库查询订单数据, 参数: {}", params);
 
+        List<OrderEntity> orderEntities = orderMapper.selectList(buildQuery(params));
+
+        return orderEntities.stream()
+                .map(this::toVO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Class<?> dataClass() {
+        return OrderVO.class;
+    }
+
+    /**
+     * 按主键游标分批查询订单（导出数据提供者）
+     * <p>
+     * 增量导出按配置的水位列过滤: 以主键为水位时仅查询上次导出的最大 id 之后的订单, 每页返回本页最大 id;
+     * 以创建时间为水位时仅查询上次导出的最大创建时间之后的订单, 每页返回本页最大创建时间。
+     * 请求指定了导出列时只查询主键、水位列与这些列
+     */
+    @Override
+    public ExportPage fetchPage(OrderParams params, ExportPageRequest request) {
+        boolean timeWatermark = isTimeWatermark(request);
+        LambdaQueryWrapper<OrderEntity> queryWrapper = buildQuery(params);
+        if (request.hasProjection()) {
+            List<SFunction<OrderEntity, ?>> columns = new ArrayList<>();
+            columns.add(OrderEntity::getId);
+            if (timeWatermark) {
+                columns.add(OrderEntity::getCreateTime);
+            }
+            request.columns().stream()
+                    .map(VO_COLUMNS::get)
+                    .filter(Objects::nonNull)
+                    .forEach(columns::add);
+            queryWrapper.select(true, columns);
+        }
+        if (!request.isFirst()) {
+            queryWrapper.gt(OrderEntity::getId, Long.parseLong(request.cursor()));
+        }
+        applyWatermark(queryWrapper, request, timeWatermark);
+        queryWrapper.orderByAsc(OrderEntity::getId)
+                .last("LIMIT " + request.batchSize());
+
+        List<OrderEntity> orderEntities = orderMapper.selectList(queryWrapper);
+        List<OrderVO> rows = orderEntities.stream()
+                .map(this::toVO)
+                .collect(Collectors.toList());
+
+        if (orderEntities.isEmpty()) {
+            return ExportPage.last(rows);
+        }
+        String lastId = String.valueOf(orderEntities.get(orderEntities.size() - 1).getId());
+        String watermark = timeWatermark
+                ? orderEntities.stream()
+                        .map(OrderEntity::getCreateTime)
+                        .filter(Objects::nonNull)
+                        .max(LocalDateTime::compareTo)
+                        .map(WATERMARK_TIME_FORMAT::format)
+                        .orElse(null)
+                : lastId;
+        if (orderEntities.size() < request.batchSize()) {
+            return ExportPage.last(rows, watermark);
+        }
+        return ExportPage.of(rows, lastId, watermark);
+    }
+
+    /**
+     * 预估导出总行数, 用于计算进度与剩余时间
+     * <p>
+     * 与分批查询使用相同的过滤条件 (增量导出时仅统计水位之后的订单)
+     */
+    @Override
+    public long estimateTotal(OrderParams params, ExportPageRequest request) {
+        LambdaQueryWrapper<OrderEntity> queryWrapper = buildQuery(params);
+        applyWatermark(queryWrapper, request, isTimeWatermark(request));
+        return orderMapper.selectCount(queryWrapper);
+    }
+
+    /**
+     * 水位列是否为创建时间
+     *
+     * @throws IllegalArgumentException 不支持的水位列
+     */
+    private static boolean isTimeWatermark(ExportPageRequest request) {
+        String key = request.watermarkKey();
+        if (key == null || WATERMARK_KEY_ID.equals(key)) {
+            return false;
+        }
+        if (WATERMARK_KEY_CREATE_TIME.equals(key)) {
+            return true;
+        }
+        throw new IllegalArgumentException("订单导出不支持的水位列: " + key + ", 可选: "
+                + WATERMARK_KEY_ID + ", " + WATERMARK_KEY_CREATE_TIME);
+    }
+
+    /**
+     * 增量导出时仅查询水位之后的订单
+     */
+    private static void applyWatermark(LambdaQueryWrapper<OrderEntity> queryWrapper, ExportPageRequest request,
+            boolean timeWatermark) {
+        if (!request.isIncremental()) {
+            return;
+        }
+        if (timeWatermark) {
+            queryWrapper.gt(OrderEntity::getCreateTime, LocalDateTime.parse(request.watermark()));
+        } else {
+            queryWrapper.gt(OrderEntity::getId, Long.parseLong(request.watermark()));
+        }
+    }
+
+    /**
+     * 按主键或创建时间将导出拆分为等宽区间
+     */
+    @Override
+    public List<OrderParams> split(OrderParams params, String shardKey, int shardCount) {
+        boolean byTime = SHARD_KEY_CREATE_TIME.equals(shardKey);
+        LambdaQueryWrapper<OrderEntity> firstQuery = buildQuery(params).last("LIMIT 1");
+        LambdaQueryWrapper<OrderEntity> lastQuery = buildQuery(params).last("LIMIT 1");
+        if (byTime) {
+            firstQuery.orderByAsc(OrderEntity::getCreateTime);
+            lastQuery.orderByDesc(OrderEntity::getCreateTime);
+        } else {
+            firstQuery.orderByAsc(OrderEntity::getId);
+            lastQuery.orderByDesc(OrderEntity::getId);
+        }
+        OrderEntity first = orderMapper.selectOne(firstQuery);
+        OrderEntity last = orderMapper.selectOne(lastQuery);
+        if (first == null || last == null) {
+            return List.of(params);
+        }
+
+        List<OrderParams> shards = new ArrayList<>(shardCount);
+        if (byTime) {
+            LocalDateTime from = first.getCreateTime();
+            long span = Duration.between(from, last.getCreateTime()).toMillis() + 1;
+            long step = Math.max(1, (span + shardCount - 1) / shardCount);
+            for (long offset = 0; offset < span; offset += step) {
+                OrderParams shard = params.copy();
+                shard.setShardTimeFrom(from.plus(Duration.ofMillis(offset)));
+                shard.setShardTimeTo(from.plus(Duration.ofMillis(Math.min(offset + step, span))));
+                shards.add(shard);
+            }
+        } else {
+            long from = first.getId();
+            long span = last.getId() - from + 1;
+            long step = Math.max(1, (span + shardCount - 1) / shardCount);
+            for (long offset = 0; offset < span; offset += step) {
+                OrderParams shard = params.copy();
+                shard.setShardIdFrom(from + offset);
+                shard.setShardIdTo(from + Math.min(offset + step, span));
+                shards.add(shard);
+            }
+        }
+        log.info("订单导出分片: shardKey={}, shards={}", shardKey, shards.size());
+        return shards;
+    }
+
+    private LambdaQueryWrapper<OrderEntity> buildQuery(OrderParams params) {
         LambdaQueryWrapper<OrderEntity> queryWrapper = new LambdaQueryWrapper<>();
         if (params != null) {
             if (org.springframework.util.StringUtils.hasText(params.getStatus())) {
@@ -42,18 +237,22 @@ public class OrderService implements PermissionCheckerSpi {
             if (org.springframework.util.StringUtils.hasText(params.getEndTime())) {
                 queryWrapper.le(OrderEntity::getCreateTime, params.getEndTime());
             }
+            // 分片区间: 左闭右开, 相邻分片不重叠
+            queryWrapper.ge(params.getShardIdFrom() != null, OrderEntity::getId, params.getShardIdFrom())
+                    .lt(params.getShardIdTo() != null, OrderEntity::getId, params.getShardIdTo())
+                    .ge(params.getShardTimeFrom() != null, OrderEntity::getCreateTime, params.getShardTimeFrom())
+                    .lt(params.getShardTimeTo() != null, OrderEntity::getCreateTime, params.getShardTimeTo());
         }
+        return queryWrapper;
+    }
 
-        List<OrderEntity> orderEntities = orderMapper.selectList(queryWrapper);
-
-        return orderEntities.stream()
-                .map(entity -> new OrderVO(
-                        entity.getOrderNo(),
-                        entity.getProductName(),
-                        entity.getAmount(),
-                        entity.getStatus(),
-                        entity.getCreateTime()))
-                .collect(Collectors.toList());
+    private OrderVO toVO(OrderEntity entity) {
+        return new OrderVO(
+                entity.getOrderNo(),
+                entity.getProductName(),
+                entity.getAmount(),
+                entity.getStatus(),
+                entity.getCreateTime());
     }
 
     @Override
@@ -1,5 +1,12 @@
 package com.flux.export.mysql.mapper;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.flux.export.mysql.pojo.entity.ExportTaskEntity;
 
@@ -9,6 +16,53 @@ import com.flux.export.mysql.pojo.entity.ExportTaskEntity;
  */
 public interface ExportTaskMapper extends BaseMapper<ExportTaskEntity> {
     
-    // MyBatis-Plus 已经提供了常用的 CRUD 方法
-    // 如果需要自定义 SQL, 可以在这里添加方法
+    /**
+     * 锁定可领取的任务: 待处理任务, 以及租约已过期的处理中任务
+     * <p>
+     * SKIP LOCKED 跳过其他节点正在领取的行, 多个节点并发领取时互不阻塞 (需 MySQL 8.0+, 且在事务中执行)
+     */
+    @Select("SELECT task_id FROM t_export_task"
+            + " WHERE status = 'PENDING'"
+            + " OR (status = 'PROCESSING' AND lease_expire_time < #{now})"
+            + " ORDER BY create_time LIMIT #{limit}"
+            + " FOR UPDATE SKIP LOCKED")
+    List<String> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    /**
+     * 批量更新多个任务的进度(单条 UPDATE ... CASE 语句)
+     * <p>
+     * rowsWritten 为 null 的任务仅更新百分比; 有进度即表示任务已开始执行, 同时将待处理任务置为处理中。
+     * 仅更新未结束的任务, 避免覆盖已写入的终态
+     */
+    @Update({"<script>",
+            "UPDATE t_export_task SET",
+            "status = 'PROCESSING',",
+            "progress = CASE task_id",
+            "<foreach collection='tasks' item='t'>WHEN #{t.taskId} THEN #{t.progress} </foreach>",
+            "END,",
+            "rows_written = CASE task_id",
+            "<foreach collection='tasks' item='t'>WHEN #{t.taskId} THEN",
+            "<choose><when test='t.rowsWritten != null'>#{t.rowsWritten}</when><otherwise>rows_written</otherwise></choose>",
+            "</foreach>",
+            "END,",
+            "total_rows = CASE task_id",
+            "<foreach collection='tasks' item='t'>WHEN #{t.taskId} THEN",
+            "<choose><when test='t.rowsWritten != null'>#{t.totalRows}</when><otherwise>total_rows</otherwise></choose>",
+            "</foreach>",
+            "END,",
+            "rows_per_second = CASE task_id",
+            "<foreach collection='tasks' item='t'>WHEN #{t.taskId} THEN",
+            "<choose><when test='t.rowsWritten != null'>#{t.rowsPerSecond}</when><otherwise>rows_per_second</otherwise></choose>",
+            "</foreach>",
+            "END,",
+            "eta_seconds = CASE task_id",
+            "<foreach collection='tasks' item='t'>WHEN #{t.taskId} THEN",
+            "<choose><when test='t.rowsWritten != null'>#{t.etaSeconds}</when><otherwise>eta_seconds</otherwise></choose>",
+            "</foreach>",
+            "END",
+            "WHERE task_id IN",
+            "<foreach collection='tasks' item='t' open='(' separator=',' close=')'>#{t.taskId}</foreach>",
+            "AND status IN ('PENDING', 'PROCESSING')",
+            "</script>"})
+    int batchUpdateProgress(@Param("tasks") List<ExportTaskEntity> tasks);
  }
@@ -52,6 +52,30 @@ public class ExportTaskEntity {
     @TableField("progress")
     private Integer progress;
     
+    /**
+     * 已写入行数
+     */
+    @TableField("rows_written")
+    private Long rowsWritten;
+    
+    /**
+     * 预估总行数
+     */
+    @TableField("total_rows")
+    private Long totalRows;
+    
+    /**
+     * 写入速率(行/秒)
+     */
+    @TableField("rows_per_second")
+    private Double rowsPerSecond;
+    
+    /**
+     * 预计剩余秒数
+     */
+    @TableField("eta_seconds")
+    private Long etaSeconds;
+    
     /**
      * 文件下载地址
      */
@@ -87,6 +111,42 @@ public class ExportTaskEntity {
     @TableField("finish_time")
     private LocalDateTime finishTime;
     
+    /**
+     * 断点续传检查点JSON
+     */
+    @TableField("checkpoint")
+    private String checkpoint;
+    
+    /**
+     * 检查点更新时间(心跳), 长时间未更新视为执行节点失联
+     */
+    @TableField("checkpoint_time")
+    private LocalDateTime checkpointTime;
+    
+    /**
+     * 文件格式 (XLSX/CSV)
+     */
+    @TableField("format")
+    private String format;
+    
+    /**
+     * 导出列(VO 字段名, 逗号分隔), 为空时导出全部列
+     */
+    @TableField("export_columns")
+    private String exportColumns;
+    
+    /**
+     * 领取任务的节点标识(外部队列模式)
+     */
+    @TableField("worker_id")
+    private String workerId;
+    
+    /**
+     * 租约到期时间(外部队列模式), 过期后任务可被其他节点重新领取
+     */
+    @TableField("lease_expire_time")
+    private LocalDateTime leaseExpireTime;
+    
     /**
      * 创建一个新的待处理任务
      */
@@ -1,5 +1,7 @@
 package com.flux.export.mysql.pojo.params;
 
+import java.time.LocalDateTime;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,4 +14,35 @@ public class OrderParams {
     private String status;
     private String startTime;
     private String endTime;
+
+    /**
+     * 分片区间: 主键下界 (含), 由分片导出自动填充
+     */
+    private Long shardIdFrom;
+
+    /**
+     * 分片区间: 主键上界 (不含), 由分片导出自动填充
+     */
+    private Long shardIdTo;
+
+    /**
+     * 分片区间: 创建时间下界 (含), 由分片导出自动填充
+     */
+    private LocalDateTime shardTimeFrom;
+
+    /**
+     * 分片区间: 创建时间上界 (不含), 由分片导出自动填充
+     */
+    private LocalDateTime shardTimeTo;
+
+    /**
+     * 复制查询条件 (不含分片区间)
+     */
+    public OrderParams copy() {
+        OrderParams copy = new OrderParams();
+        copy.setStatus(status);
+        copy.setStartTime(startTime);
+        copy.setEndTime(endTime);
+        return copy;
+    }
 }
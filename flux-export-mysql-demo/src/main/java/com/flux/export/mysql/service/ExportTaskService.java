@@ -5,32 +5,89 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.flux.export.mysql.pojo.entity.ExportTaskEntity;
 import com.flux.export.mysql.mapper.ExportTaskMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * ExportTaskEntity Service 实现
- * 继承 MyBatis-Plus 的 ServiceImpl,获得常用的业务方法 */
+ * 继承 MyBatis-Plus 的 ServiceImpl,获得常用的业务方法
+ * <p>
+ * 进度更新采用 write-behind: 先在内存中按任务合并为最新值, 由后台线程按固定间隔将所有有变化的任务
+ * 以一条批量 UPDATE 写入; 成功/失败/取消等终态立即写入, 并丢弃该任务尚未刷新的进度 */
 @Slf4j
 @Service
 public class ExportTaskService extends ServiceImpl<ExportTaskMapper, ExportTaskEntity> {
     
     /**
-     * 防抖机制: 记录每个任务上次更新进度的时间戳
-     * Key: taskId, Value: 上次更新时间(毫秒)
+     * 待刷新的进度: 每个任务仅保留最新一次
+     * Key: taskId, Value: 进度(仅 taskId 与进度相关字段有值)
      */
-    private final Map<String, Long> lastUpdateTimeMap = new ConcurrentHashMap<>();
+    private final Map<String, ExportTaskEntity> pendingProgress = new ConcurrentHashMap<>();
     
     /**
-     * 防抖间隔时间(毫秒)
+     * 进度刷新间隔(毫秒)
      */
-    private static final long THROTTLE_INTERVAL_MS = 1000;
+    private final long flushIntervalMs;
+    
+    /**
+     * 单条批量 UPDATE 最多包含的任务数
+     */
+    private final int flushBatchSize;
+    
+    private ScheduledExecutorService flushExecutor;
+    
+    public ExportTaskService(
+            @Value("${flux-export.progress.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${flux-export.progress.flush-batch-size:500}") int flushBatchSize) {
+        this.flushIntervalMs = Math.max(100, flushIntervalMs);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+    
+    /**
+     * 启动进度刷新线程
+     */
+    @PostConstruct
+    public void startProgressFlusher() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "export-progress-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushProgress, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+        log.info("Progress write-behind started: flushInterval={}ms, batchSize={}", flushIntervalMs, flushBatchSize);
+    }
+    
+    /**
+     * 停止刷新线程, 并写入剩余进度
+     */
+    @PreDestroy
+    public void stopProgressFlusher() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushProgress();
+    }
     
     /**
      * 创建任务
@@ -66,44 +123,74 @@ public class ExportTaskService extends ServiceImpl<ExportTaskMapper, ExportTaskE
     }
     
     /**
-     * 更新任务进度(带防抖机制)
+     * 更新任务进度(写入缓冲区, 异步批量刷新)
      */
     public boolean updateProgress(String taskId, int progress) {
-        long currentTime = System.currentTimeMillis();
-        Long lastUpdateTime = lastUpdateTimeMap.get(taskId);
-        
-        // 防抖逻辑
-        if (lastUpdateTime != null && 
-            (currentTime - lastUpdateTime) < THROTTLE_INTERVAL_MS && 
-            progress < 100) {
-            log.trace("Throttled progress update: taskId={}, progress={}", taskId, progress);
-            return false;
-        }
-        
-        try {
-            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
-            updateWrapper.eq(ExportTaskEntity::getTaskId, taskId)
-                        .set(ExportTaskEntity::getProgress, progress);
-            
-            boolean success = update(updateWrapper);
-            lastUpdateTimeMap.put(taskId, currentTime);
-            log.debug("Updated task progress: taskId={}, progress={}, success={}", 
-                taskId, progress, success);
-            
-            // 任务完成时清理防抖缓存
-             if (progress >= 100) {
-                lastUpdateTimeMap.remove(taskId);
+        return updateProgress(taskId, progress, null, null, null, null);
+    }
+    
+    /**
+     * 更新任务进度及明细(写入缓冲区, 异步批量刷新)
+     * <p>
+     * 明细参数为 null 时不更新对应列, 保留缓冲区中已有的明细
+     */
+    public boolean updateProgress(String taskId, int progress, Long rowsWritten, Long totalRows,
+                                  Double rowsPerSecond, Long etaSeconds) {
+        ExportTaskEntity latest = ExportTaskEntity.builder()
+                .taskId(taskId)
+                .progress(progress)
+                .rowsWritten(rowsWritten)
+                .totalRows(totalRows)
+                .rowsPerSecond(rowsPerSecond)
+                .etaSeconds(etaSeconds)
+                .build();
+        pendingProgress.merge(taskId, latest, (previous, current) -> {
+            if (current.getRowsWritten() != null || previous.getRowsWritten() == null) {
+                return current;
+            }
+            previous.setProgress(current.getProgress());
+            return previous;
+        });
+        log.trace("Buffered progress update: taskId={}, progress={}", taskId, progress);
+        return true;
+    }
+    
+    /**
+     * 将缓冲区中的进度批量写入数据库
+     *
+     * @return 本次写入的任务数
+     */
+    public int flushProgress() {
+        if (pendingProgress.isEmpty()) {
+            return 0;
+        }
+        List<ExportTaskEntity> dirty = new ArrayList<>(pendingProgress.size());
+        for (String taskId : pendingProgress.keySet()) {
+            ExportTaskEntity progress = pendingProgress.remove(taskId);
+            if (progress != null) {
+                dirty.add(progress);
             }
-            
-            return success;
-        } catch (Exception e) {
-            log.error("Failed to update task progress: taskId={}, progress={}", taskId, progress, e);
-            throw new RuntimeException("Failed to update task progress", e);
         }
+        int flushed = 0;
+        for (int from = 0; from < dirty.size(); from += flushBatchSize) {
+            List<ExportTaskEntity> batch = dirty.subList(from, Math.min(from + flushBatchSize, dirty.size()));
+            try {
+                baseMapper.batchUpdateProgress(batch);
+                flushed += batch.size();
+            } catch (Exception e) {
+                log.error("Failed to flush task progress: tasks={}", batch.size(), e);
+                // 放回缓冲区等待下次刷新, 期间已有更新的任务以新值为准
+                batch.forEach(progress -> pendingProgress.putIfAbsent(progress.getTaskId(), progress));
+            }
+        }
+        log.debug("Flushed task progress: tasks={}", flushed);
+        return flushed;
     }
     
     /**
      * 标记任务成功
+     * <p>
+     * 缓冲区中未刷新的进度明细 (最终写入行数与速率) 随终态一并写入, 结束后的批量刷新不会再更新该任务
      */
     public boolean markSuccess(String taskId, String fileUrl, String fileName) {
         try {
@@ -114,9 +201,15 @@ public class ExportTaskService extends ServiceImpl<ExportTaskMapper, ExportTaskE
                         .set(ExportTaskEntity::getFileUrl, fileUrl)
                         .set(ExportTaskEntity::getFileName, fileName)
                         .set(ExportTaskEntity::getFinishTime, LocalDateTime.now());
+            ExportTaskEntity pending = pendingProgress.remove(taskId);
+            if (pending != null && pending.getRowsWritten() != null) {
+                updateWrapper.set(ExportTaskEntity::getRowsWritten, pending.getRowsWritten())
+                            .set(ExportTaskEntity::getTotalRows, pending.getTotalRows())
+                            .set(ExportTaskEntity::getRowsPerSecond, pending.getRowsPerSecond())
+                            .set(ExportTaskEntity::getEtaSeconds, null);
+            }
             
             boolean success = update(updateWrapper);
-            lastUpdateTimeMap.remove(taskId); // 清理防抖缓存
             log.info("Marked task as success: taskId={}, fileUrl={}, success={}", 
                 taskId, fileUrl, success);
             return success;
@@ -138,7 +231,7 @@ public class ExportTaskService extends ServiceImpl<ExportTaskMapper, ExportTaskE
                         .set(ExportTaskEntity::getFinishTime, LocalDateTime.now());
             
             boolean success = update(updateWrapper);
-            lastUpdateTimeMap.remove(taskId); // 清理防抖缓存
+            pendingProgress.remove(taskId); // 丢弃未刷新的进度
             log.info("Marked task as failed: taskId={}, errorMsg={}, success={}", 
                 taskId, errorMsg, success);
             return success;
@@ -148,6 +241,209 @@ public class ExportTaskService extends ServiceImpl<ExportTaskMapper, ExportTaskE
         }
     }
     
+    /**
+     * 标记任务已取消
+     * <p>
+     * 仅更新未结束的任务, 避免覆盖已完成的结果
+     */
+    public boolean markCancelled(String taskId) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.eq(ExportTaskEntity::getTaskId, taskId)
+                        .in(ExportTaskEntity::getStatus, "PENDING", "PROCESSING")
+                        .set(ExportTaskEntity::getStatus, "CANCELLED")
+                        .set(ExportTaskEntity::getFinishTime, LocalDateTime.now());
+            
+            boolean success = update(updateWrapper);
+            pendingProgress.remove(taskId); // 丢弃未刷新的进度
+            log.info("Marked task as cancelled: taskId={}, success={}", taskId, success);
+            return success;
+        } catch (Exception e) {
+            log.error("Failed to mark task as cancelled: taskId={}", taskId, e);
+            throw new RuntimeException("Failed to mark task as cancelled", e);
+        }
+    }
+    
+    /**
+     * 保存检查点
+     * <p>
+     * 仅更新未结束的任务, 并将状态置为处理中
+     */
+    public boolean saveCheckpoint(String taskId, String checkpoint, LocalDateTime checkpointTime) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.eq(ExportTaskEntity::getTaskId, taskId)
+                        .in(ExportTaskEntity::getStatus, "PENDING", "PROCESSING")
+                        .set(ExportTaskEntity::getStatus, "PROCESSING")
+                        .set(ExportTaskEntity::getCheckpoint, checkpoint)
+                        .set(ExportTaskEntity::getCheckpointTime, checkpointTime);
+            
+            boolean success = update(updateWrapper);
+            log.debug("Saved task checkpoint: taskId={}, success={}", taskId, success);
+            return success;
+        } catch (Exception e) {
+            log.error("Failed to save task checkpoint: taskId={}", taskId, e);
+            throw new RuntimeException("Failed to save task checkpoint", e);
+        }
+    }
+    
+    /**
+     * 清除检查点
+     */
+    public boolean clearCheckpoint(String taskId) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.eq(ExportTaskEntity::getTaskId, taskId)
+                        .set(ExportTaskEntity::getCheckpoint, null)
+                        .set(ExportTaskEntity::getCheckpointTime, null);
+            
+            boolean success = update(updateWrapper);
+            log.debug("Cleared task checkpoint: taskId={}, success={}", taskId, success);
+            return success;
+        } catch (Exception e) {
+            log.error("Failed to clear task checkpoint: taskId={}", taskId, e);
+            throw new RuntimeException("Failed to clear task checkpoint", e);
+        }
+    }
+    
+    /**
+     * 刷新心跳时间
+     * <p>
+     * 任务开始执行时首次调用, 同时将状态置为处理中, 使执行节点失联后能被 {@link #findInterrupted} 查到;
+     * 仅更新未结束的任务; 心跳与检查点更新时间共用 {@code checkpoint_time} 列
+     */
+    public void heartbeat(Collection<String> taskIds, LocalDateTime heartbeatTime) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.in(ExportTaskEntity::getTaskId, taskIds)
+                        .in(ExportTaskEntity::getStatus, "PENDING", "PROCESSING")
+                        .set(ExportTaskEntity::getStatus, "PROCESSING")
+                        .set(ExportTaskEntity::getCheckpointTime, heartbeatTime);
+            
+            update(updateWrapper);
+            log.debug("Refreshed task heartbeat: taskIds={}", taskIds);
+        } catch (Exception e) {
+            log.error("Failed to refresh task heartbeat: taskIds={}", taskIds, e);
+            throw new RuntimeException("Failed to refresh task heartbeat", e);
+        }
+    }
+    
+    /**
+     * 查询检查点 (或心跳) 在指定时间之后未再更新的处理中任务
+     */
+    public List<ExportTaskEntity> findInterrupted(LocalDateTime staleBefore, int limit) {
+        try {
+            LambdaQueryWrapper<ExportTaskEntity> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(ExportTaskEntity::getStatus, "PROCESSING")
+                       .lt(ExportTaskEntity::getCheckpointTime, staleBefore)
+                       .orderByAsc(ExportTaskEntity::getCheckpointTime)
+                       .last("LIMIT " + limit);
+            
+            List<ExportTaskEntity> tasks = list(queryWrapper);
+            log.debug("Found {} interrupted tasks: staleBefore={}", tasks.size(), staleBefore);
+            return tasks;
+        } catch (Exception e) {
+            log.error("Failed to find interrupted tasks: staleBefore={}", staleBefore, e);
+            throw new RuntimeException("Failed to find interrupted tasks", e);
+        }
+    }
+    
+    /**
+     * 接管失联任务
+     * <p>
+     * 条件更新检查点时间, 多个节点同时接管时只有一个节点更新成功
+     */
+    public boolean claimInterrupted(String taskId, LocalDateTime staleBefore) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.eq(ExportTaskEntity::getTaskId, taskId)
+                        .eq(ExportTaskEntity::getStatus, "PROCESSING")
+                        .lt(ExportTaskEntity::getCheckpointTime, staleBefore)
+                        .set(ExportTaskEntity::getCheckpointTime, LocalDateTime.now());
+            
+            boolean success = update(updateWrapper);
+            log.info("Claimed interrupted task: taskId={}, success={}", taskId, success);
+            return success;
+        } catch (Exception e) {
+            log.error("Failed to claim interrupted task: taskId={}", taskId, e);
+            throw new RuntimeException("Failed to claim interrupted task", e);
+        }
+    }
+    
+    /**
+     * 统计待处理任务数(外部队列模式)
+     */
+    public long countPending() {
+        try {
+            LambdaQueryWrapper<ExportTaskEntity> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(ExportTaskEntity::getStatus, "PENDING");
+            return count(queryWrapper);
+        } catch (Exception e) {
+            log.error("Failed to count pending tasks", e);
+            throw new RuntimeException("Failed to count pending tasks", e);
+        }
+    }
+    
+    /**
+     * 领取任务(外部队列模式)
+     * <p>
+     * 在同一事务中锁定可领取的行并写入领取节点与租约, 其他节点通过 SKIP LOCKED 跳过这些行
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<ExportTaskEntity> claim(String workerId, int limit, LocalDateTime leaseExpireTime) {
+        try {
+            List<String> taskIds = baseMapper.lockClaimable(LocalDateTime.now(), limit);
+            if (taskIds.isEmpty()) {
+                return List.of();
+            }
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.in(ExportTaskEntity::getTaskId, taskIds)
+                        .set(ExportTaskEntity::getStatus, "PROCESSING")
+                        .set(ExportTaskEntity::getWorkerId, workerId)
+                        .set(ExportTaskEntity::getLeaseExpireTime, leaseExpireTime);
+            update(updateWrapper);
+            
+            List<ExportTaskEntity> tasks = listByIds(taskIds);
+            log.info("Claimed {} tasks: workerId={}, taskIds={}", tasks.size(), workerId, taskIds);
+            return tasks;
+        } catch (Exception e) {
+            log.error("Failed to claim tasks: workerId={}", workerId, e);
+            throw new RuntimeException("Failed to claim tasks", e);
+        }
+    }
+    
+    /**
+     * 为本节点持有的任务续约(外部队列模式)
+     * <p>
+     * 仅续约仍由本节点领取且处理中的任务
+     *
+     * @return 续约成功的任务ID
+     */
+    public Set<String> renewLease(String workerId, Collection<String> taskIds, LocalDateTime leaseExpireTime) {
+        try {
+            LambdaUpdateWrapper<ExportTaskEntity> updateWrapper = new LambdaUpdateWrapper<>();
+            updateWrapper.in(ExportTaskEntity::getTaskId, taskIds)
+                        .eq(ExportTaskEntity::getWorkerId, workerId)
+                        .eq(ExportTaskEntity::getStatus, "PROCESSING")
+                        .set(ExportTaskEntity::getLeaseExpireTime, leaseExpireTime);
+            update(updateWrapper);
+            
+            LambdaQueryWrapper<ExportTaskEntity> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(ExportTaskEntity::getTaskId)
+                       .in(ExportTaskEntity::getTaskId, taskIds)
+                       .eq(ExportTaskEntity::getWorkerId, workerId)
+                       .eq(ExportTaskEntity::getStatus, "PROCESSING");
+            Set<String> held = list(queryWrapper).stream()
+                    .map(ExportTaskEntity::getTaskId)
+                    .collect(Collectors.toSet());
+            log.debug("Renewed task leases: workerId={}, held={}/{}", workerId, held.size(), taskIds.size());
+            return held;
+        } catch (Exception e) {
+            log.error("Failed to renew task leases: workerId={}", workerId, e);
+            throw new RuntimeException("Failed to renew task leases", e);
+        }
+    }
+    
     /**
      * 根据任务ID查询
      */
@@ -1,15 +1,20 @@
 package com.flux.export.mysql.spi;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.flux.export.config.ExportFormat;
 import com.flux.export.spi.FileStorageSpi;
+import com.flux.export.spi.MultipartUpload;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,6 +23,10 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * 这是一个 Demo 实现, 将文件保存到本地磁盘的 exports 目录
  * <p>
+ * 支持流式上传与分片上传: 分片依次追加到 .part 临时文件, 完成时原子重命名, 文件内容不经过堆内存
+ * <p>
+ * 支持下载已上传的文件, 断点续传导出依赖此能力合并分段
+ * <p>
  * <b>生产环境建议</b>: 使用云存储服务, 如阿里云 OSS、AWS S3、腾讯云 COS 等
  *
  * @author FluxExport Demo
@@ -26,6 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class LocalFileStorageSpi implements FileStorageSpi {
 
+    /**
+     * gzip 压缩文件的后缀
+     */
+    private static final String GZIP_SUFFIX = ".gz";
+
     /**
      * 文件存储根目录
      */
@@ -67,6 +81,82 @@ public class LocalFileStorageSpi implements FileStorageSpi {
         }
     }
 
+    @Override
+    public String upload(String fileName, InputStream inputStream, long contentLength) {
+        try {
+            Path filePath = ensureStorageDir().resolve(generateUniqueFileName(fileName));
+
+            // 流式写入文件
+            Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            String fileUrl = baseUrl + "/" + filePath.getFileName();
+            log.info("File streamed successfully: {} ({} bytes) -> {}", fileName, contentLength, fileUrl);
+            return fileUrl;
+
+        } catch (IOException e) {
+            log.error("Failed to upload file: {}", fileName, e);
+            throw new RuntimeException("文件上传失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String upload(String fileName, Path file) {
+        try {
+            Path filePath = ensureStorageDir().resolve(generateUniqueFileName(fileName));
+
+            // 本地文件直接复制, 不经过堆内存
+            Files.copy(file, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            String fileUrl = baseUrl + "/" + filePath.getFileName();
+            log.info("File copied successfully: {} -> {}", fileName, fileUrl);
+            return fileUrl;
+
+        } catch (IOException e) {
+            log.error("Failed to upload file: {}", fileName, e);
+            throw new RuntimeException("文件上传失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipartUpload() {
+        return true;
+    }
+
+    @Override
+    public MultipartUpload createMultipartUpload(String fileName) {
+        try {
+            Path filePath = ensureStorageDir().resolve(generateUniqueFileName(fileName));
+            Path partPath = filePath.resolveSibling(filePath.getFileName() + ".part");
+            OutputStream out = Files.newOutputStream(partPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            log.debug("Multipart upload started: {} -> {}", fileName, partPath);
+            return new LocalMultipartUpload(filePath, partPath, out);
+
+        } catch (IOException e) {
+            log.error("Failed to start multipart upload: {}", fileName, e);
+            throw new RuntimeException("分片上传初始化失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean supportsDownload() {
+        return true;
+    }
+
+    @Override
+    public InputStream download(String fileUrl) {
+        String fileName = extractFileNameFromUrl(fileUrl);
+        if (fileName == null) {
+            throw new IllegalArgumentException("Cannot extract file name from URL: " + fileUrl);
+        }
+        try {
+            return Files.newInputStream(Paths.get(storagePath).resolve(fileName));
+        } catch (IOException e) {
+            log.error("Failed to open file: {}", fileUrl, e);
+            throw new RuntimeException("文件下载失败: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void delete(String fileUrl) {
         try {
@@ -92,21 +182,42 @@ public class LocalFileStorageSpi implements FileStorageSpi {
         }
     }
 
+    /**
+     * 确保存储目录存在
+     */
+    private Path ensureStorageDir() throws IOException {
+        Path storageDir = Paths.get(storagePath);
+        if (!Files.exists(storageDir)) {
+            Files.createDirectories(storageDir);
+            log.info("Created storage directory: {}", storageDir.toAbsolutePath());
+        }
+        return storageDir;
+    }
+
     /**
      * 生成唯一文件名, 添加时间戳
+     * <p>
+     * 时间戳插在完整扩展名之前: {@code orders.csv.gz} 生成 {@code orders_1700000000000.csv.gz}
      */
     private String generateUniqueFileName(String originalFileName) {
         String timestamp = String.valueOf(System.currentTimeMillis());
+        String extension = extensionOf(originalFileName);
+        String nameWithoutExt = originalFileName.substring(0, originalFileName.length() - extension.length());
+        return nameWithoutExt + "_" + timestamp + extension;
+    }
 
-        // 如果文件名包含扩展名, 在扩展名前插入时间戳
-        int dotIndex = originalFileName.lastIndexOf('.');
-        if (dotIndex > 0) {
-            String nameWithoutExt = originalFileName.substring(0, dotIndex);
-            String extension = originalFileName.substring(dotIndex);
-            return nameWithoutExt + "_" + timestamp + extension;
-        } else {
-            return originalFileName + "_" + timestamp;
+    /**
+     * 文件的完整扩展名 (含 {@code .gz} 等压缩后缀), 无扩展名时返回空串
+     */
+    private static String extensionOf(String fileName) {
+        for (ExportFormat format : ExportFormat.values()) {
+            String compressed = format.extension() + GZIP_SUFFIX;
+            if (fileName.endsWith(compressed) && fileName.length() > compressed.length()) {
+                return compressed;
+            }
         }
+        int dotIndex = fileName.lastIndexOf('.');
+        return dotIndex > 0 ? fileName.substring(dotIndex) : "";
     }
 
     /**
@@ -125,4 +236,58 @@ public class LocalFileStorageSpi implements FileStorageSpi {
 
         return null;
     }
+
+    /**
+     * 本地分片上传会话: 分片按顺序追加写入 .part 文件, 完成时重命名为目标文件
+     */
+    private class LocalMultipartUpload implements MultipartUpload {
+
+        private final Path filePath;
+        private final Path partPath;
+        private final OutputStream out;
+
+        LocalMultipartUpload(Path filePath, Path partPath, OutputStream out) {
+            this.filePath = filePath;
+            this.partPath = partPath;
+            this.out = out;
+        }
+
+        @Override
+        public void uploadPart(int partNumber, byte[] data, int length) {
+            try {
+                out.write(data, 0, length);
+                log.debug("Part written: file={}, part={}, size={}", filePath.getFileName(), partNumber, length);
+            } catch (IOException e) {
+                throw new RuntimeException("分片写入失败: part=" + partNumber + ", " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String complete() {
+            try {
+                out.close();
+                Files.move(partPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                String fileUrl = baseUrl + "/" + filePath.getFileName();
+                log.info("Multipart upload completed: {}", fileUrl);
+                return fileUrl;
+
+            } catch (IOException e) {
+                log.error("Failed to complete multipart upload: {}", filePath, e);
+                throw new RuntimeException("分片合并失败: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void abort() {
+            try {
+                out.close();
+                Files.deleteIfExists(partPath);
+                log.info("Multipart upload aborted: {}", partPath);
+            } catch (IOException e) {
+                log.error("Failed to abort multipart upload: {}", partPath, e);
+                // 清理失败不抛异常, 记录日志
+            }
+        }
+    }
 }
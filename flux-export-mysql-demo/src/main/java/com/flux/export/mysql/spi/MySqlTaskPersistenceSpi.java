@@ -1,11 +1,17 @@
 package com.flux.export.mysql.spi;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flux.export.model.ExportCheckpoint;
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.ExportTask;
 import com.flux.export.spi.TaskPersistenceSpi;
 import com.flux.export.mysql.converter.ExportTaskConverter;
@@ -24,9 +30,11 @@ import lombok.extern.slf4j.Slf4j;
 public class MySqlTaskPersistenceSpi implements TaskPersistenceSpi {
 
     private final ExportTaskService exportTaskService;
+    private final ObjectMapper objectMapper;
 
-    public MySqlTaskPersistenceSpi(ExportTaskService exportTaskService) {
+    public MySqlTaskPersistenceSpi(ExportTaskService exportTaskService, ObjectMapper objectMapper) {
         this.exportTaskService = exportTaskService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -44,16 +52,28 @@ public class MySqlTaskPersistenceSpi implements TaskPersistenceSpi {
     public void updateProgress(String taskId, int progress) {
         log.debug("Updating progress for task: {}, progress: {}", taskId, progress);
 
-        // Service 层已实现防抖机制
+        // Service 层合并后批量写入
         exportTaskService.updateProgress(taskId, progress);
     }
 
+    @Override
+    public void updateProgress(String taskId, ExportProgress progress) {
+        log.debug("Updating progress for task: {}, progress: {}, rows: {}", taskId, progress.percent(),
+                progress.rowsWritten());
+
+        // 未知的总行数与剩余时间存为 NULL
+        exportTaskService.updateProgress(taskId, progress.percent(), progress.rowsWritten(),
+                progress.hasTotal() ? progress.totalRows() : null,
+                progress.rowsPerSecond(),
+                progress.hasEta() ? progress.etaSeconds() : null);
+    }
+
     @Override
     public void markSuccess(String taskId, String fileUrl) {
         log.debug("Marking task as success: {}, fileUrl: {}", taskId, fileUrl);
 
-        // 从 URL 提取文件名
-        String fileName = extractFileNameFromUrl(fileUrl);
+        // 从 URL 提取文件名 (增量导出无新增数据时没有文件)
+        String fileName = fileUrl == null ? null : extractFileNameFromUrl(fileUrl);
 
         // 调用 Service 层标记成功
         exportTaskService.markSuccess(taskId, fileUrl, fileName);
@@ -67,6 +87,56 @@ public class MySqlTaskPersistenceSpi implements TaskPersistenceSpi {
         exportTaskService.markFailed(taskId, errorMsg);
     }
 
+    @Override
+    public void markCancelled(String taskId) {
+        log.debug("Marking task as cancelled: {}", taskId);
+
+        // 调用 Service 层标记取消
+        exportTaskService.markCancelled(taskId);
+    }
+
+    @Override
+    public void saveCheckpoint(ExportCheckpoint checkpoint) {
+        log.debug("Saving checkpoint: {}, parts: {}", checkpoint.taskId(), checkpoint.partUrls().size());
+
+        try {
+            exportTaskService.saveCheckpoint(checkpoint.taskId(), objectMapper.writeValueAsString(checkpoint),
+                    checkpoint.updateTime());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize checkpoint: " + checkpoint.taskId(), e);
+        }
+    }
+
+    @Override
+    public Optional<ExportCheckpoint> findCheckpoint(String taskId) {
+        return exportTaskService.findById(taskId)
+                .map(ExportTaskEntity::getCheckpoint)
+                .map(this::parseCheckpoint);
+    }
+
+    @Override
+    public void deleteCheckpoint(String taskId) {
+        exportTaskService.clearCheckpoint(taskId);
+    }
+
+    @Override
+    public void heartbeat(Collection<String> taskIds, LocalDateTime time) {
+        exportTaskService.heartbeat(taskIds, time);
+    }
+
+    @Override
+    public List<ExportTask> findInterruptedTasks(LocalDateTime staleBefore, int limit) {
+        return exportTaskService.findInterrupted(staleBefore, limit).stream()
+                .map(ExportTaskConverter::toCoreTask)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean claimInterruptedTask(String taskId, LocalDateTime staleBefore) {
+        // 条件更新保证只有一个节点接管
+        return exportTaskService.claimInterrupted(taskId, staleBefore);
+    }
+
     @Override
     public Optional<com.flux.export.model.ExportTask> findById(String taskId) {
         log.debug("Finding task by id: {}", taskId);
@@ -91,6 +161,17 @@ public class MySqlTaskPersistenceSpi implements TaskPersistenceSpi {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 解析检查点 JSON
+     */
+    private ExportCheckpoint parseCheckpoint(String json) {
+        try {
+            return objectMapper.readValue(json, ExportCheckpoint.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse checkpoint: " + json, e);
+        }
+    }
+
     /**
      * 从 URL 提取文件名
      */
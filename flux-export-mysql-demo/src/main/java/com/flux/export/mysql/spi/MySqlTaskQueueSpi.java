@@ -0,0 +1,60 @@
+package com.flux.export.mysql.spi;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.flux.export.model.ExportTask;
+import com.flux.export.spi.TaskQueueSpi;
+import com.flux.export.mysql.converter.ExportTaskConverter;
+import com.flux.export.mysql.service.ExportTaskService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MySQL 分布式任务队列 SPI 实现
+ * <p>
+ * 任务表即队列: 通过 {@code SELECT ... FOR UPDATE SKIP LOCKED} 领取, {@code worker_id} + {@code lease_expire_time}
+ * 记录租约。仅在 {@code flux-export.queue.mode=external} 时被 SDK 使用
+ *
+ * @author FluxExport Demo
+ */
+@Slf4j
+@Component
+public class MySqlTaskQueueSpi implements TaskQueueSpi {
+
+    private final ExportTaskService exportTaskService;
+
+    public MySqlTaskQueueSpi(ExportTaskService exportTaskService) {
+        this.exportTaskService = exportTaskService;
+    }
+
+    @Override
+    public List<ExportTask> claim(String workerId, int limit, Duration leaseDuration) {
+        return exportTaskService.claim(workerId, limit, LocalDateTime.now().plus(leaseDuration)).stream()
+                .map(ExportTaskConverter::toCoreTask)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> renew(String workerId, Collection<String> taskIds, Duration leaseDuration) {
+        Set<String> held = exportTaskService.renewLease(workerId, taskIds, LocalDateTime.now().plus(leaseDuration));
+        Set<String> lost = new HashSet<>(taskIds);
+        lost.removeAll(held);
+        if (!lost.isEmpty()) {
+            log.warn("Lost task leases: workerId={}, taskIds={}", workerId, lost);
+        }
+        return lost;
+    }
+
+    @Override
+    public long countPending() {
+        return exportTaskService.countPending();
+    }
+}
@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.flux.export.model.ExportProgress;
 import com.flux.export.model.ExportTask;
 import com.flux.export.model.TaskStatus;
 import com.flux.export.spi.TaskPersistenceSpi;
@@ -36,22 +37,24 @@ public class InMemoryTaskPersistenceSpi implements TaskPersistenceSpi {
 
     @Override
     public void updateProgress(String taskId, int progress) {
+        updateProgress(taskId, ExportProgress.of(progress));
+    }
+
+    @Override
+    public void updateProgress(String taskId, ExportProgress progress) {
         // 防抖逻辑
         long now = System.currentTimeMillis();
         Long lastTime = lastUpdateTime.get(taskId);
-        if (lastTime != null && (now - lastTime) < THROTTLE_MS && progress < 100) {
-            log.debug("防抖跳过进度更新: taskId={}, progress={}", taskId, progress);
+        if (lastTime != null && (now - lastTime) < THROTTLE_MS && progress.percent() < 100) {
+            log.debug("防抖跳过进度更新: taskId={}, progress={}", taskId, progress.percent());
             return;
         }
         lastUpdateTime.put(taskId, now);
 
         taskStore.computeIfPresent(taskId, (id, task) -> {
-            ExportTask updated = new ExportTask(
-                    task.taskId(), task.bizType(), task.userId(),
-                    TaskStatus.PROCESSING, progress,
-                    task.fileUrl(), task.fileName(), task.errorMsg(),
-                    task.params(), task.createTime(), task.finishTime());
-            log.info("更新进度: taskId={}, progress={}", taskId, progress);
+            ExportTask updated = task.withProcessing().withProgress(progress);
+            log.info("更新进度: taskId={}, progress={}, rows={}, rowsPerSecond={}", taskId, progress.percent(),
+                    progress.rowsWritten(), (long) progress.rowsPerSecond());
             return updated;
         });
     }
@@ -63,7 +66,8 @@ public class InMemoryTaskPersistenceSpi implements TaskPersistenceSpi {
                     task.taskId(), task.bizType(), task.userId(),
                     TaskStatus.SUCCESS, 100,
                     fileUrl, extractFileName(fileUrl), null,
-                    task.params(), task.createTime(), LocalDateTime.now());
+                    task.params(), task.createTime(), LocalDateTime.now(), task.progressDetail(),
+                    task.format(), task.columns());
             log.info("任务成功: taskId={}, fileUrl={}", taskId, fileUrl);
             return updated;
         });
@@ -77,13 +81,29 @@ public class InMemoryTaskPersistenceSpi implements TaskPersistenceSpi {
                     task.taskId(), task.bizType(), task.userId(),
                     TaskStatus.FAILED, task.progress(),
                     task.fileUrl(), task.fileName(), errorMsg,
-                    task.params(), task.createTime(), LocalDateTime.now());
+                    task.params(), task.createTime(), LocalDateTime.now(), task.progressDetail(),
+                    task.format(), task.columns());
             log.error("任务失败: taskId={}, error={}", taskId, errorMsg);
             return updated;
         });
         lastUpdateTime.remove(taskId);
     }
 
+    @Override
+    public void markCancelled(String taskId) {
+        taskStore.computeIfPresent(taskId, (id, task) -> {
+            ExportTask updated = new ExportTask(
+                    task.taskId(), task.bizType(), task.userId(),
+                    TaskStatus.CANCELLED, task.progress(),
+                    null, null, null,
+                    task.params(), task.createTime(), LocalDateTime.now(), task.progressDetail(),
+                    task.format(), task.columns());
+            log.info("任务已取消: taskId={}", taskId);
+            return updated;
+        });
+        lastUpdateTime.remove(taskId);
+    }
+
     @Override
     public Optional<ExportTask> findById(String taskId) {
         return Optional.ofNullable(taskStore.get(taskId));
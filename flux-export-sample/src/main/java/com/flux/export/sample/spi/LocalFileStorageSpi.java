@@ -1,9 +1,13 @@
 package com.flux.export.sample.spi;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.flux.export.spi.FileStorageSpi;
+import com.flux.export.spi.MultipartUpload;
 
 /**
  * FileStorageSPI 本地文件实现
@@ -48,6 +53,100 @@ public class LocalFileStorageSpi implements FileStorageSpi {
         }
     }
 
+    @Override
+    public String upload(String fileName, InputStream inputStream, long contentLength) {
+        try {
+            Path filePath = resolveTarget(fileName);
+            Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            String fileUrl = urlPrefix + fileName;
+            log.info("文件已保存(流式): path={}, size={}, url={}", filePath.toAbsolutePath(), contentLength, fileUrl);
+
+            return fileUrl;
+        } catch (IOException e) {
+            throw new RuntimeException("文件上传失败: " + fileName, e);
+        }
+    }
+
+    @Override
+    public String upload(String fileName, Path file) {
+        try {
+            Path filePath = resolveTarget(fileName);
+            Files.copy(file, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            String fileUrl = urlPrefix + fileName;
+            log.info("文件已保存(本地复制): path={}, url={}", filePath.toAbsolutePath(), fileUrl);
+
+            return fileUrl;
+        } catch (IOException e) {
+            throw new RuntimeException("文件上传失败: " + fileName, e);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipartUpload() {
+        return true;
+    }
+
+    /**
+     * 分片依次追加到 .part 临时文件, 完成时原子重命名为目标文件
+     * <p>
+     * 临时文件名带随机后缀, 同名文件 (同一业务同一秒内的多次导出) 同时上传时互不覆盖
+     */
+    @Override
+    public MultipartUpload createMultipartUpload(String fileName) {
+        try {
+            Path filePath = resolveTarget(fileName);
+            Path partPath = Files.createTempFile(filePath.getParent(), fileName + ".", ".part");
+            OutputStream out = Files.newOutputStream(partPath, StandardOpenOption.TRUNCATE_EXISTING);
+            return new MultipartUpload() {
+                @Override
+                public void uploadPart(int partNumber, byte[] data, int length) {
+                    try {
+                        out.write(data, 0, length);
+                        log.debug("分片已写入: file={}, part={}, size={}", fileName, partNumber, length);
+                    } catch (IOException e) {
+                        throw new RuntimeException("分片写入失败: " + fileName + ", part=" + partNumber, e);
+                    }
+                }
+
+                @Override
+                public String complete() {
+                    try {
+                        out.close();
+                        Files.move(partPath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                        String fileUrl = urlPrefix + fileName;
+                        log.info("文件已保存(分片): path={}, url={}", filePath.toAbsolutePath(), fileUrl);
+                        return fileUrl;
+                    } catch (IOException e) {
+                        throw new RuntimeException("分片合并失败: " + fileName, e);
+                    }
+                }
+
+                @Override
+                public void abort() {
+                    try {
+                        out.close();
+                        Files.deleteIfExists(partPath);
+                    } catch (IOException e) {
+                        log.warn("分片清理失败: {}", partPath, e);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("分片上传初始化失败: " + fileName, e);
+        }
+    }
+
+    private Path resolveTarget(String fileName) throws IOException {
+        Path dir = Paths.get(storagePath);
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+        }
+        return dir.resolve(fileName);
+    }
+
     @Override
     public void delete(String fileUrl) {
         try {
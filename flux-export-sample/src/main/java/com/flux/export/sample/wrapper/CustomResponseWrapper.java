@@ -2,6 +2,9 @@ package com.flux.export.sample.wrapper;
 
 import com.flux.export.spi.ResponseWrapperSpi;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 /**
@@ -21,6 +24,13 @@ public class CustomResponseWrapper implements ResponseWrapperSpi {
         return new ApiResponse<>(httpStatus, errorMsg, null);
     }
 
+    @Override
+    public Object wrapTooManyRequests(String errorMsg, long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ApiResponse<>(429, errorMsg, null));
+    }
+
     @Override
     public Object wrapNotFound() {
         return new ApiResponse<>(404, "任务不存在", null);